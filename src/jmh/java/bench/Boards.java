@@ -0,0 +1,72 @@
+package bench;
+
+import entity.Snake;
+
+/**
+ * Benchmark fixtures: board sizes, and snakes of a given length laid out along a closed
+ * tour of the board so they can keep moving without ever running into themselves.
+ */
+final class Boards {
+
+    private Boards() { }
+
+    /** Parses a scenario like "256x256:60000" into {cols, rows, length}. */
+    static int[] parse(String scenario) {
+        String[] boardAndLength = scenario.split(":");
+        String[] size = boardAndLength[0].split("x");
+        return new int[] {
+                Integer.parseInt(size[0]), Integer.parseInt(size[1]), Integer.parseInt(boardAndLength[1])
+        };
+    }
+
+    /**
+     * Direction to leave each cell (y * cols + x) by on a closed tour of the board:
+     * zig-zag along the rows over columns 1..cols-1, then back up column 0.
+     * Only the first even number of rows is used, so the tour closes.
+     */
+    static Snake.Direction[] tour(int cols, int rows) {
+        int tourRows = rows - (rows % 2);
+        Snake.Direction[] next = new Snake.Direction[cols * rows];
+        for (int y = 0; y < tourRows; y++) {
+            boolean rightward = y % 2 == 0;
+            for (int x = 1; x < cols; x++) {
+                Snake.Direction d;
+                if (rightward) d = x == cols - 1 ? Snake.Direction.DOWN : Snake.Direction.RIGHT;
+                else d = x == 1 ? (y == tourRows - 1 ? Snake.Direction.LEFT : Snake.Direction.DOWN) : Snake.Direction.LEFT;
+                next[y * cols + x] = d;
+            }
+            next[y * cols] = y == 0 ? Snake.Direction.RIGHT : Snake.Direction.UP;
+        }
+        return next;
+    }
+
+    static int tourLength(int cols, int rows) {
+        return cols * (rows - (rows % 2));
+    }
+
+    /** Moves the snake one cell along the tour. */
+    static void advance(Snake snake, Snake.Direction[] tour, int cols) {
+        snake.setDirection(tour[snake.getHeadY() * cols + snake.getHeadX()]);
+        snake.move();
+    }
+
+    /** A snake of the given length whose every segment lies on the tour, heading along it. */
+    static Snake snakeOnTour(int cols, int rows, int length, Snake.Direction[] tour) {
+        Snake snake = new Snake(cols, rows);
+        growOnTour(snake, cols, rows, length, tour);
+        return snake;
+    }
+
+    /** Walks a freshly started snake onto the tour, growing it to the given length. */
+    static void growOnTour(Snake snake, int cols, int rows, int length, Snake.Direction[] tour) {
+        if (length + 1 > tourLength(cols, rows)) {
+            throw new IllegalArgumentException("Snake of " + length + " does not fit a " + cols + "x" + rows + " tour");
+        }
+        // the starting snake sits on column 1, rows 1-3; three moves put all of it on the tour
+        for (int i = 0; i < 3; i++) advance(snake, tour, cols);
+        for (int i = 3; i < length; i++) {
+            snake.grow();
+            advance(snake, tour, cols);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package bench;
+
+import entity.CollisionHandler;
+import entity.Food;
+import entity.Snake;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CollisionHandler.check across board sizes and snake lengths, with the head on a free
+ * cell so every check runs all the way through (walls, body, food).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class CollisionBenchmark {
+
+    // board "cols x rows" : snake length
+    @Param({"18x13:3", "18x13:150", "256x256:3", "256x256:60000", "4096x4096:3", "4096x4096:1000000"})
+    public String scenario;
+
+    private final CollisionHandler collider = new CollisionHandler();
+    private Snake snake;
+    private Food food;
+    private boolean[][] walls;
+    private int cols, rows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int[] s = Boards.parse(scenario);
+        cols = s[0];
+        rows = s[1];
+        snake = Boards.snakeOnTour(cols, rows, s[2], Boards.tour(cols, rows));
+        walls = new boolean[cols][rows];
+        food = new Food(new Random(1));
+        food.respawn(walls, snake, cols, rows);
+    }
+
+    @Benchmark
+    public CollisionHandler.Result check() {
+        return collider.check(snake, food, walls, false, cols, rows);
+    }
+}
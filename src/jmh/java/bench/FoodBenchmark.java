@@ -0,0 +1,52 @@
+package bench;
+
+import entity.Food;
+import entity.Snake;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Food.respawn across board sizes and snake lengths (up to a nearly full small board),
+ * with border walls like the real map.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class FoodBenchmark {
+
+    // board "cols x rows" : snake length
+    @Param({"18x13:3", "18x13:150", "256x256:3", "256x256:60000", "4096x4096:3", "4096x4096:1000000"})
+    public String scenario;
+
+    private Snake snake;
+    private Food food;
+    private boolean[][] walls;
+    private int cols, rows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int[] s = Boards.parse(scenario);
+        cols = s[0];
+        rows = s[1];
+        snake = Boards.snakeOnTour(cols, rows, s[2], Boards.tour(cols, rows));
+
+        // border walls as in the real map (the tour crosses them, respawn only needs both to be taken)
+        walls = new boolean[cols][rows];
+        for (int x = 0; x < cols; x++) { walls[x][0] = true; walls[x][rows - 1] = true; }
+        for (int y = 0; y < rows; y++) { walls[0][y] = true; walls[cols - 1][y] = true; }
+
+        food = new Food(new Random(1));
+        food.respawn(walls, snake, cols, rows); // builds the free-cell index once
+    }
+
+    @Benchmark
+    public int respawn() {
+        food.respawn(walls, snake, cols, rows);
+        return food.getX();
+    }
+}
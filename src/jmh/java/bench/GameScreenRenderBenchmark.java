@@ -0,0 +1,75 @@
+package bench;
+
+import engine.Core;
+import engine.GameStates;
+import entity.Snake;
+import org.openjdk.jmh.annotations.*;
+import screen.GameScreen;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GameScreen frames rendered offscreen through Core, across board sizes, snake lengths
+ * and render paths. Score is frames per second; run with -prof gc for the allocation per
+ * frame (gc.alloc.rate.norm).
+ *
+ * The snake is laid along a closed tour of the board and moved by the benchmark itself,
+ * so it never dies; the screen only publishes it (update with no time passing, so no
+ * timers or random effects fire).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Djava.awt.headless=true"})
+public class GameScreenRenderBenchmark {
+
+    // board "cols x rows" : snake length
+    @Param({"18x13:3", "18x13:150", "256x256:3", "256x256:60000", "4096x4096:3", "4096x4096:1000000"})
+    public String scenario;
+
+    // trail = patched trail layer (default), full = map + whole snake, interpolated = sliding head/tail
+    @Param({"trail", "full", "interpolated"})
+    public String mode;
+
+    private Core core;
+    private GameScreen screen;
+    private Snake snake;
+    private Snake.Direction[] tour;
+    private int cols;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int[] s = Boards.parse(scenario);
+        cols = s[0];
+        core = new Core(new String[] {
+                "--cols=" + s[0], "--rows=" + s[1],
+                "--set=incremental_render=" + mode.equals("trail"),
+                "--set=interpolate_render=" + mode.equals("interpolated") });
+        core.startOffscreen();
+        core.toPlaying();
+
+        screen = (GameScreen) core.getScreen(GameStates.PLAYING);
+        snake = screen.getSimulation().getSnake();
+        tour = Boards.tour(s[0], s[1]);
+        Boards.growOnTour(snake, s[0], s[1], s[2], tour);
+        screen.update(0);
+        core.renderFrame();
+    }
+
+    /** Nothing moved since the last frame. */
+    @Benchmark
+    public BufferedImage still() {
+        return core.renderFrame(0.5);
+    }
+
+    /** The snake moved one cell since the last frame (a move every frame, the worst case). */
+    @Benchmark
+    public BufferedImage moving() {
+        Boards.advance(snake, tour, cols);
+        screen.update(0);
+        return core.renderFrame(0.5);
+    }
+}
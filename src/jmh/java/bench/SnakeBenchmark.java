@@ -0,0 +1,48 @@
+package bench;
+
+import entity.Snake;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snake.move and Snake.reverse across board sizes and snake lengths.
+ * Run with -prof gc to see the allocation rate next to the throughput.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SnakeBenchmark {
+
+    // board "cols x rows" : snake length
+    @Param({"18x13:3", "18x13:150", "256x256:3", "256x256:60000", "4096x4096:3", "4096x4096:1000000"})
+    public String scenario;
+
+    private Snake snake;
+    private Snake.Direction[] tour;
+    private int cols;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int[] s = Boards.parse(scenario);
+        cols = s[0];
+        tour = Boards.tour(s[0], s[1]);
+        snake = Boards.snakeOnTour(s[0], s[1], s[2], tour);
+    }
+
+    /** One step along the tour, including the turn at the row ends. */
+    @Benchmark
+    public Snake move() {
+        Boards.advance(snake, tour, cols);
+        return snake;
+    }
+
+    @Benchmark
+    public Snake reverse() {
+        snake.reverse();
+        return snake;
+    }
+}
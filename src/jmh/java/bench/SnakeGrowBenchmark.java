@@ -0,0 +1,41 @@
+package bench;
+
+import entity.Snake;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snake.grow across board sizes and snake lengths.
+ *
+ * Growing is not repeatable on one snake, so each iteration starts from a fresh snake
+ * and times a batch of GROWS calls (score = time per batch).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, batchSize = SnakeGrowBenchmark.GROWS)
+@Measurement(iterations = 10, batchSize = SnakeGrowBenchmark.GROWS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SnakeGrowBenchmark {
+
+    static final int GROWS = 100_000;
+
+    // board "cols x rows" : snake length
+    @Param({"18x13:3", "18x13:150", "256x256:3", "256x256:60000", "4096x4096:3", "4096x4096:1000000"})
+    public String scenario;
+
+    private Snake snake;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        int[] s = Boards.parse(scenario);
+        snake = Boards.snakeOnTour(s[0], s[1], s[2], Boards.tour(s[0], s[1]));
+    }
+
+    @Benchmark
+    public Snake grow() {
+        snake.grow();
+        return snake;
+    }
+}
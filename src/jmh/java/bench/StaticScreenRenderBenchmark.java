@@ -0,0 +1,54 @@
+package bench;
+
+import engine.Core;
+import engine.GameStates;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The menu, high score and game over screens rendered offscreen through Core. Score is
+ * frames per second; run with -prof gc for the allocation per frame (gc.alloc.rate.norm).
+ *
+ * These screens are static: Core renders them once and presents that frame until
+ * something marks it dirty, so both the full redraw and the cached present are measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Djava.awt.headless=true"})
+public class StaticScreenRenderBenchmark {
+
+    @Param({"MENU", "HIGHSCORES", "GAME_OVER"})
+    public GameStates state;
+
+    private Core core;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        core = new Core();
+        core.startOffscreen();
+        switch (state) {
+            case HIGHSCORES: core.toHighScores(); break;
+            case GAME_OVER:  core.toGameOver(); break;
+            default:         break; // starts on the menu
+        }
+        core.renderFrame();
+    }
+
+    /** The whole screen drawn again, as after a click or key press. */
+    @Benchmark
+    public BufferedImage redraw() {
+        core.markDirty();
+        return core.renderFrame();
+    }
+
+    /** The cached frame presented as is, as on most frames. */
+    @Benchmark
+    public BufferedImage present() {
+        return core.renderFrame();
+    }
+}
@@ -0,0 +1,104 @@
+package engine;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Diagnostic that checks how many bytes the game loop allocates per frame.
+ *
+ * Reads the JVM's per-thread allocation counter for the thread calling it (the GameLoop
+ * thread) at the start and end of every frame. Frames over the budget are reported on
+ * stderr, at most once a second with the count and the worst frame, or - in fail mode -
+ * stop the loop with an exception, so a render path that starts allocating is caught
+ * in a dev run.
+ *
+ * Off unless the "alloc_budget" setting (or --alloc-budget=N) is above zero. Frames that
+ * contain a screen transition and the first frames after startup (JIT, caches warming
+ * up) are not checked.
+ */
+public final class AllocationBudget {
+
+    private static final int WARMUP_FRAMES = 300;
+    private static final long REPORT_INTERVAL_NS = 1_000_000_000L;
+
+    private final com.sun.management.ThreadMXBean threads;   // null if the JVM can't count
+    private final long budget;
+    private final boolean fail;
+
+    private long frameStart;
+    private long frames;
+    private volatile boolean skipFrame;
+
+    // over-budget frames since the last report
+    private int overCount;
+    private long overWorst;
+    private long lastReport;
+
+    public AllocationBudget(long budgetBytes, boolean fail) {
+        this.budget = budgetBytes;
+        this.fail = fail;
+        this.threads = budgetBytes > 0 ? allocationCounter() : null;
+    }
+
+    public static AllocationBudget fromSettings(FileManager files) {
+        return new AllocationBudget(
+                files.getIntSetting("alloc_budget", 0),
+                Boolean.parseBoolean(files.getSetting("alloc_budget_fail", "false")));
+    }
+
+    public boolean isEnabled() { return threads != null; }
+
+    /** Call on the render thread at the start of the frame. */
+    public void beginFrame() {
+        if (threads == null) return;
+        frameStart = threads.getCurrentThreadAllocatedBytes();
+    }
+
+    /** Call on the game loop thread once the frame is shown. */
+    public void endFrame() {
+        if (threads == null) return;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - frameStart;
+        frames++;
+
+        if (skipFrame) {          // a transition ran in this frame, screens set up freely
+            skipFrame = false;
+            return;
+        }
+        if (frames <= WARMUP_FRAMES || allocated <= budget) return;
+
+        if (fail) {
+            throw new IllegalStateException("Frame " + frames + " allocated " + allocated
+                    + " bytes, budget is " + budget);
+        }
+        overCount++;
+        overWorst = Math.max(overWorst, allocated);
+
+        long now = System.nanoTime();
+        if (now - lastReport >= REPORT_INTERVAL_NS) {
+            System.err.println("[AllocationBudget] " + overCount + " frame(s) over " + budget
+                    + " bytes, worst " + overWorst + " bytes");
+            overCount = 0;
+            overWorst = 0;
+            lastReport = now;
+        }
+    }
+
+    /** Excludes the current frame, e.g. because a screen transition happened in it. May be called from any thread. */
+    public void skipFrame() {
+        skipFrame = true;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            System.err.println("[AllocationBudget] this JVM can't count allocated bytes, check disabled");
+            return null;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            System.err.println("[AllocationBudget] this JVM can't count allocated bytes, check disabled");
+            return null;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+    }
+}
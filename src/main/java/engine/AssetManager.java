@@ -0,0 +1,164 @@
+package engine;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads sprites, fonts and sounds in parallel on a small worker pool at launch, grouped
+ * by the screen that needs them, so each screen only waits for its own assets.
+ *
+ * Sprites and fonts are loaded into SpriteCache / FontRegistry, where the screens pick
+ * them up as before; sounds are decoded here and handed to SoundManager. A failed asset
+ * is only reported: the screen loading it again gets the error (or its fallback) as usual.
+ *
+ * Every asset's load time and the startup phases Core marks are kept for
+ * {@link #printReport()}, to keep an eye on time-to-first-frame.
+ */
+public final class AssetManager {
+
+    private final long startNanos = System.nanoTime();
+    private final ExecutorService pool;
+    private final int threads;
+
+    private final Map<GameStates, List<CompletableFuture<Void>>> groups = new EnumMap<>(GameStates.class);
+    private final Map<String, CompletableFuture<PcmSound>> sounds = new ConcurrentHashMap<>();
+    private final AtomicInteger submitted = new AtomicInteger();
+    private final AtomicInteger done = new AtomicInteger();
+
+    // for the report, in the order things finished
+    private final List<String> assetLines = new ArrayList<>();
+    private final List<String> phaseLines = new ArrayList<>();
+
+    public AssetManager(int threads) {
+        this.threads = threads;
+        AtomicInteger count = new AtomicInteger();
+        pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "AssetLoader-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** Pool sized by "asset_threads" (0 = one per core, 2 to 4, as loading is partly I/O). */
+    public static AssetManager fromSettings(FileManager files) {
+        int threads = files.getIntSetting("asset_threads", 0);
+        if (threads <= 0) threads = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        return new AssetManager(Math.max(1, threads));
+    }
+
+    // ---- what to load ----
+
+    /** A sprite at its own size, for the screen shown in {@code group}. */
+    public void sprite(GameStates group, String path) {
+        submit(group, path, () -> SpriteCache.get(path));
+    }
+
+    /** A sprite pre-scaled to w x h. */
+    public void sprite(GameStates group, String path, int w, int h) {
+        submit(group, path + " @" + w + "x" + h, () -> SpriteCache.get(path, w, h));
+    }
+
+    public void font(GameStates group, String path) {
+        submit(group, path, () -> FontRegistry.preload(path));
+    }
+
+    /** A .wav resource decoded as by {@link PcmSound#load}, picked up with {@link #getSound}. */
+    public void sound(GameStates group, String name, double maxSeconds) {
+        CompletableFuture<PcmSound> sound = new CompletableFuture<>();
+        sounds.put(name, sound);
+        submit(group, name, () -> {
+            PcmSound decoded = null;
+            try {
+                decoded = PcmSound.load(name, maxSeconds);
+            } finally {
+                sound.complete(decoded);   // never leave SoundManager waiting
+            }
+        });
+    }
+
+    /** No more assets will be added; the pool winds down once the queued ones are loaded. */
+    public void finishSubmitting() {
+        pool.shutdown();
+    }
+
+    // ---- waiting for them ----
+
+    /** Blocks until every asset of the group is loaded (or failed). */
+    public void await(GameStates group) {
+        List<CompletableFuture<Void>> pending;
+        synchronized (groups) {
+            pending = groups.getOrDefault(group, List.of());
+        }
+        long start = System.nanoTime();
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).join();
+        long waited = System.nanoTime() - start;
+        phase(group + " assets ready", waited > 1_000_000 ? String.format("waited %.1f ms", waited / 1e6) : null);
+    }
+
+    /** The decoded sound, waiting for it if it was queued, else decoding it now. */
+    PcmSound getSound(String name, double maxSeconds) {
+        CompletableFuture<PcmSound> sound = sounds.get(name);
+        return sound != null ? sound.join() : PcmSound.load(name, maxSeconds);
+    }
+
+    /** Assets loaded so far and queued in all, e.g. for a loading bar. */
+    public int getLoaded() { return done.get(); }
+    public int getTotal() { return submitted.get(); }
+
+    // ---- startup report ----
+
+    /** Marks a startup phase as reached now. */
+    public void phase(String name) {
+        phase(name, null);
+    }
+
+    public void printReport() {
+        synchronized (assetLines) {
+            System.out.println("[Startup] " + assetLines.size() + " assets on " + threads + " threads");
+            for (String line : assetLines) System.out.println("[Startup]   " + line);
+            for (String line : phaseLines) System.out.println("[Startup] " + line);
+        }
+    }
+
+    private void phase(String name, String note) {
+        String line = String.format("%-24s at %7.1f ms", name, millisSinceStart())
+                + (note != null ? "  (" + note + ")" : "");
+        synchronized (assetLines) {
+            phaseLines.add(line);
+        }
+    }
+
+    private void submit(GameStates group, String name, Runnable load) {
+        submitted.incrementAndGet();
+        CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
+            double started = millisSinceStart();
+            long start = System.nanoTime();
+            String result = "";
+            try {
+                load.run();
+            } catch (RuntimeException e) {
+                result = "  FAILED: " + e.getMessage();
+            }
+            done.incrementAndGet();
+            String line = String.format("%-44s %-10s %6.1f ms  (%s, started at %.1f ms)%s", name, group,
+                    (System.nanoTime() - start) / 1e6, Thread.currentThread().getName(), started, result);
+            synchronized (assetLines) {
+                assetLines.add(line);
+            }
+        }, pool);
+        synchronized (groups) {
+            groups.computeIfAbsent(group, g -> new ArrayList<>()).add(future);
+        }
+    }
+
+    private double millisSinceStart() {
+        return (System.nanoTime() - startNanos) / 1e6;
+    }
+}
@@ -0,0 +1,26 @@
+package engine;
+
+import javax.sound.sampled.AudioFormat;
+
+/**
+ * Where the software mixer's output goes: a sound card line, nowhere, or a file.
+ * Opened once, then written one mixed buffer at a time from the audio thread.
+ */
+interface AudioSink {
+
+    void open(AudioFormat format, int bufferBytes) throws Exception;
+
+    void write(byte[] buffer, int length);
+
+    void close();
+
+    /** True if write() blocks until the device wants more; otherwise the mixer keeps time itself. */
+    boolean isRealTime();
+
+    /** "line" (default), "null", or "file:PATH" for a .wav of everything mixed. */
+    static AudioSink forName(String name) {
+        if (name.equals("null")) return new NullSink();
+        if (name.startsWith("file:")) return new WavFileSink(name.substring("file:".length()));
+        return new LineSink();
+    }
+}
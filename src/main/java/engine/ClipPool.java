@@ -0,0 +1,66 @@
+package engine;
+
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.Clip;
+import javax.sound.sampled.FloatControl;
+
+/**
+ * A few Clips of one sound, opened once up front. Each play restarts the least recently
+ * started voice, so overlapping plays (up to the pool size) layer instead of cutting each
+ * other off, and playing never opens a line or touches the file.
+ */
+final class ClipPool {
+
+    private final Clip[] voices;
+    private int next;   // voice the next play uses
+
+    private ClipPool(Clip[] voices) {
+        this.voices = voices;
+    }
+
+    /**
+     * Opens {@code size} voices of the sound at the given gain (dB, 0 = unchanged).
+     *
+     * @return the pool, or null if the sound is missing or no audio line is available
+     */
+    static ClipPool open(PcmSound sound, int size, float gainDb) {
+        if (sound == null) return null;
+        Clip[] voices = new Clip[size];
+        try {
+            for (int i = 0; i < size; i++) {
+                voices[i] = AudioSystem.getClip();
+                voices[i].open(sound.getFormat(), sound.getData(), 0, sound.getData().length);
+                if (gainDb != 0) {
+                    try {
+                        FloatControl gain = (FloatControl) voices[i].getControl(FloatControl.Type.MASTER_GAIN);
+                        gain.setValue(gainDb);
+                    } catch (Exception ignored) {}
+                }
+            }
+            return new ClipPool(voices);
+        } catch (Exception e) {
+            System.out.println("[SoundManager] No audio line for effects: " + e.getMessage());
+            for (Clip c : voices) if (c != null) c.close();
+            return null;
+        }
+    }
+
+    /** Plays the sound from the start on the next voice. */
+    synchronized void play() {
+        Clip clip = voices[next];
+        next = (next + 1) % voices.length;
+        clip.stop();
+        clip.setFramePosition(0);
+        clip.start();
+    }
+
+    /** Stops every voice and rewinds it. */
+    synchronized void stop() {
+        for (Clip clip : voices) {
+            if (clip.isRunning()) {
+                clip.stop();
+                clip.setFramePosition(0);
+            }
+        }
+    }
+}
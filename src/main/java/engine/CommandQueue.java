@@ -0,0 +1,63 @@
+package engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue of commands (non-negative longs) from any number of threads to
+ * one consumer thread. Preallocated ring, so posting never allocates or blocks: a full
+ * queue just rejects the command.
+ *
+ * Each slot carries a sequence number saying whose turn it is: producers claim a slot by
+ * advancing the shared tail with a CAS, write the command and publish it by bumping the
+ * slot's sequence; the consumer takes slots in order once they are published.
+ */
+final class CommandQueue {
+
+    static final long EMPTY = -1;
+
+    private final long[] commands;
+    private final AtomicLongArray sequence;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();   // next slot to claim, producers
+    private long head;                                   // next slot to take, consumer only
+
+    /** @param capacity slots, a power of two */
+    CommandQueue(int capacity) {
+        if (Integer.bitCount(capacity) != 1) throw new IllegalArgumentException("capacity must be a power of two");
+        commands = new long[capacity];
+        sequence = new AtomicLongArray(capacity);
+        mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) sequence.set(i, i);
+    }
+
+    /** Posts a command from any thread. @return false if the queue is full */
+    boolean offer(long command) {
+        long pos;
+        int slot;
+        while (true) {
+            pos = tail.get();
+            slot = (int) pos & mask;
+            long turn = sequence.get(slot) - pos;
+            if (turn == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) break;   // claimed
+            } else if (turn < 0) {
+                return false;                                   // consumer hasn't freed it yet
+            }
+            // else another producer claimed it first - retry with the new tail
+        }
+        commands[slot] = command;
+        sequence.set(slot, pos + 1);                            // publish
+        return true;
+    }
+
+    /** Takes the oldest command, consumer thread only. @return the command or {@link #EMPTY} */
+    long poll() {
+        int slot = (int) head & mask;
+        if (sequence.get(slot) != head + 1) return EMPTY;
+        long command = commands[slot];
+        sequence.set(slot, head + commands.length);             // free for the producer one lap later
+        head++;
+        return command;
+    }
+}
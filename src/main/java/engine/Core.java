@@ -5,38 +5,125 @@ import screen.MenuScreen;
 import screen.GameScreen;
 import screen.GameOverScreen;
 import screen.HighScoreScreen;
+import screen.MetricsOverlay;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
 public class Core extends Canvas implements Runnable {
 
     public static final int WIDTH = 864, HEIGHT = 624;
-    private static final double FIXED_DT = 1.0 / 60.0;
+    private final double fixedDt;            // seconds per game logic step, from "tick_rate"
 
     // ---- State & subsystems (owned by other roles, just referenced here) ----
     private final StateMachine states = new StateMachine();
-    private Screen menuScreen, gameScreen, gameOverScreen, highScoreScreen;   // (chloe)
+    // built one by one as their assets arrive, while the render thread shows a loading frame
+    private volatile Screen menuScreen, gameScreen, gameOverScreen, highScoreScreen;   // (chloe)
+    private final CountDownLatch screensBuilt = new CountDownLatch(1);
+
+    // held for each step and each transition, which come from the sim thread, the event
+    // thread and timers: a game is never reset or a screen switched halfway through a step
+    private final Object stepLock = new Object();
 
     private final InputManager input = new InputManager(this); // (melih)
-    private final SoundManager sound = new SoundManager(); // (ashley)
     private final FileManager files = new FileManager(); // (dami)
+    private volatile SoundManager sound; // (ashley) - made with the game screen
+    private final AssetManager assets;   // parallel asset loading at launch
+    private final AtomicInteger startupPending = new AtomicInteger(2); // first frame, all screens
+    private final InputLatency latency = new InputLatency();           // turn key to screen, always recorded
+
+    // hot-path metrics (see Metrics), always recorded; the overlay is toggled with F3
+    private final LatencyHistogram updateTime = Metrics.histogram(Metrics.UPDATE);
+    private final LatencyHistogram renderTime = Metrics.histogram(Metrics.RENDER);
+    private final LatencyHistogram presentTime = Metrics.histogram(Metrics.PRESENT);
+    private final LatencyHistogram frameTime = Metrics.histogram(Metrics.FRAME);
+    private final Counter ticks = Metrics.counter(Metrics.TICKS);
+    private final Counter frames = Metrics.counter(Metrics.FRAMES);
+    private final Counter catchUpSteps = Metrics.counter(Metrics.CATCH_UP);
+    private final Counter contentsLost = Metrics.counter(Metrics.CONTENTS_LOST);
+    private volatile boolean showMetrics;
+    private MetricsOverlay metricsOverlay;   // render thread, made when first shown
 
     private JFrame frame;
     private volatile boolean running = false;
+    private AllocationBudget allocBudget;  // per-frame allocation check, off by default
+    private FramePacer pacer;              // frame limiter, idles while the window is in the background
+
+    // static screens are rendered into frameCache only when something marked them dirty,
+    // every other frame just presents the cached image again
+    private BufferedImage frameCache;
+    private volatile boolean dirty = true;
+
+    // when the last fixed step was due, for the render thread's interpolation alpha
+    private volatile long lastStepNanos;
 
-    public static void main(String[] args) { new Core().start(); }
+    // render target when running without a window (startOffscreen)
+    private BufferedImage offscreen;
 
-    public Core() {
+    public static void main(String[] args) { new Core(args).start(); }
+
+    public Core() { this(new String[0]); }
+
+    public Core(String[] args) {
         setPreferredSize(new Dimension(WIDTH, HEIGHT));
         setIgnoreRepaint(true);
         setFocusable(true);      // required on some systems
+        applyArgs(args);
+        assets = AssetManager.fromSettings(files);
+        showMetrics = Boolean.parseBoolean(files.getSetting("metrics_overlay", "false"));
+        Metrics.registerMBean();
+        fixedDt = 1.0 / Math.max(1, files.getIntSetting("tick_rate", 60));
+    }
+
+    // command line options override saved settings for this run:
+    // --cols=N --rows=N --fps=N --tick-rate=N --interpolate --latency --metrics --alloc-budget=BYTES --alloc-budget-fail,
+    // and --set=KEY=VALUE for any other setting
+    private void applyArgs(String[] args) {
+        for (String arg : args) {
+            if (arg.startsWith("--cols=")) {
+                files.overrideSetting("board_cols", arg.substring("--cols=".length()));
+            } else if (arg.startsWith("--rows=")) {
+                files.overrideSetting("board_rows", arg.substring("--rows=".length()));
+            } else if (arg.startsWith("--fps=")) {
+                files.overrideSetting("target_fps", arg.substring("--fps=".length()));
+            } else if (arg.startsWith("--tick-rate=")) {
+                files.overrideSetting("tick_rate", arg.substring("--tick-rate=".length()));
+            } else if (arg.equals("--interpolate")) {
+                files.overrideSetting("interpolate_render", "true");
+            } else if (arg.equals("--metrics")) {
+                files.overrideSetting("metrics_overlay", "true");
+            } else if (arg.equals("--latency")) {
+                files.overrideSetting("latency_overlay", "true");
+            } else if (arg.startsWith("--alloc-budget=")) {
+                files.overrideSetting("alloc_budget", arg.substring("--alloc-budget=".length()));
+            } else if (arg.equals("--alloc-budget-fail")) {
+                files.overrideSetting("alloc_budget_fail", "true");
+            } else if (arg.startsWith("--set=") && arg.indexOf('=', "--set=".length()) > 0) {
+                int eq = arg.indexOf('=', "--set=".length());
+                files.overrideSetting(arg.substring("--set=".length(), eq), arg.substring(eq + 1));
+            } else {
+                System.err.println("Unknown option: " + arg);
+            }
+        }
     }
 
     public synchronized void start() {
         if (running) return;
         running = true;
+        preloadAssets(); // decoding starts while the window comes up
+
+        pacer = FramePacer.fromSettings(files);
 
         frame = new JFrame("Snake");
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
@@ -47,64 +134,311 @@ public class Core extends Canvas implements Runnable {
         frame.setVisible(true);
         requestFocus(); // ensure keyboard focus
         requestFocusInWindow();  // helps ensure input grabs focus
+        watchWindowForIdle();
+        watchInputForRedraw();
+        assets.phase("window shown");
+        if (Boolean.parseBoolean(files.getSetting("latency_overlay", "false"))) {
+            Runtime.getRuntime().addShutdownHook(new Thread(latency::printReport, "LatencyReport"));
+        }
 
-        initScreens(); // initialising screens
-
+        // game logic ticks at a fixed rate on its own thread, so a slow frame never delays
+        // a move; screens hand what they draw over to the render loop (see GameScreen)
+        new Thread(this::simulate, "GameSim").start();
         new Thread(this, "GameLoop").start();
+
+        initScreens(); // initialising screens, the render loop shows loading until the menu is in
+        startupStepDone();
+    }
+
+    /**
+     * Sets the game up without a window or threads, e.g. on a headless CI machine. Nothing
+     * ticks or renders by itself: drive it with {@link #step()} and {@link #renderFrame()}.
+     */
+    public synchronized void startOffscreen() {
+        if (running || offscreen != null) return;
+        offscreen = SpriteCache.createCompatible(WIDTH, HEIGHT, Transparency.OPAQUE);
+        preloadAssets();
+        initScreens();
+    }
+
+    /** One fixed-step update of the current screen, as the simulation thread would run it. */
+    public void step() {
+        input.poll();
+        updateScreen();
+        lastStepNanos = System.nanoTime();
+    }
+
+    /** Renders the current screen into the offscreen image, the same way a window frame is drawn. */
+    public BufferedImage renderFrame() {
+        return renderFrame(0);
+    }
+
+    /** As {@link #renderFrame()}, {@code alpha} of a step after the last one. */
+    public BufferedImage renderFrame(double alpha) {
+        long start = System.nanoTime();
+        Screen screen = currentScreen();
+        boolean cached = prepareFrame(screen);
+        Graphics2D g = offscreen.createGraphics();
+        drawFrame(g, screen, cached, alpha);
+        g.dispose();
+        renderTime.record(System.nanoTime() - start);
+        frames.increment();
+        latency.frameShown(System.nanoTime());   // no window: the frame is done once drawn
+        return offscreen;
+    }
+
+    // fixed-step simulation loop, runs independently of rendering
+    private void simulate() {
+        long prev = System.nanoTime();
+        double acc = 0;
+
+        while (running) {
+            long now = System.nanoTime();
+            acc += (now - prev) / 1_000_000_000.0;
+            prev = now;
+
+            // run all fixed-step updates
+            int steps = 0;
+            while (acc >= fixedDt) {
+                input.poll(); // (melih) - keys pressed since the last step, enabled by chloe so controls work
+                updateScreen(); // drive current screen logic
+                acc -= fixedDt;
+                steps++;
+            }
+            if (steps > 1) catchUpSteps.add(steps - 1);
+            lastStepNanos = now - (long) (acc * 1_000_000_000.0);
+
+            // sleep until the next step is due
+            LockSupport.parkNanos((long) ((fixedDt - acc) * 1_000_000_000.0));
+        }
+    }
+
+    // one fixed step of whichever screen is current, not overlapping a transition
+    private void updateScreen() {
+        long start = System.nanoTime();
+        synchronized (stepLock) {
+            Screen screen = currentScreen();
+            if (screen != null) screen.update(fixedDt);
+        }
+        updateTime.record(System.nanoTime() - start);
+        ticks.increment();
+    }
+
+    // render at a low rate while the window is unfocused or minimized
+    private void watchWindowForIdle() {
+        WindowAdapter watcher = new WindowAdapter() {
+            @Override public void windowGainedFocus(WindowEvent e) { updateIdle(); }
+            @Override public void windowLostFocus(WindowEvent e) { updateIdle(); }
+            @Override public void windowIconified(WindowEvent e) { updateIdle(); }
+            @Override public void windowDeiconified(WindowEvent e) { updateIdle(); }
+        };
+        frame.addWindowFocusListener(watcher);
+        frame.addWindowListener(watcher);
+    }
+
+    private void updateIdle() {
+        boolean iconified = (frame.getExtendedState() & Frame.ICONIFIED) != 0;
+        pacer.setIdle(iconified || !frame.isFocused());
+        markDirty(); // window contents may need refreshing after being hidden
+    }
+
+    // any click or key may change what a static screen shows; the redraw is asked for once
+    // the screens' own listeners have handled the event, so it sees what they changed
+    private void watchInputForRedraw() {
+        addMouseListener(new MouseAdapter() {
+            @Override public void mousePressed(MouseEvent e) { markDirtyAfterEvent(); }
+            @Override public void mouseReleased(MouseEvent e) { markDirtyAfterEvent(); }
+            @Override public void mouseClicked(MouseEvent e) { markDirtyAfterEvent(); }
+        });
+        addKeyListener(new KeyAdapter() {
+            @Override public void keyPressed(KeyEvent e) {
+                if (e.getKeyCode() == KeyEvent.VK_F3) showMetrics = !showMetrics;
+                markDirtyAfterEvent();
+            }
+            @Override public void keyReleased(KeyEvent e) { markDirtyAfterEvent(); }
+        });
+    }
+
+    private void markDirtyAfterEvent() {
+        EventQueue.invokeLater(this::markDirty);
+    }
+
+    /**
+     * Asks for a fresh render of a static screen (see {@link Screen#isStatic()}), e.g. when
+     * a timer changed what it shows. Input events and transitions already do this.
+     * Safe to call from any thread.
+     */
+    public void markDirty() {
+        dirty = true;
     }
 
-    // screen constructors to register within the state machine
+    // everything the screens load from disk, by the screen that needs it
+    private void preloadAssets() {
+        assets.font(GameStates.MENU, FontRegistry.ALAGARD);
+        assets.sprite(GameStates.MENU, "resources/backgrounds/front.jpg", WIDTH, HEIGHT);
+        assets.sprite(GameStates.MENU, "resources/sprites/button.png");
+
+        // snake and tiles, scaled to the board's unit by the screen itself
+        for (String sprite : new String[] { "upH", "downH", "leftH", "rightH", "bodyH", "bodyV", "eye", "wall", "wall2" }) {
+            assets.sprite(GameStates.PLAYING, "resources/sprites/" + sprite + ".png");
+        }
+        SoundManager.preload(assets);
+
+        assets.sprite(GameStates.GAME_OVER, "resources/backgrounds/end.jpg", WIDTH, HEIGHT);
+        assets.sprite(GameStates.GAME_OVER, "resources/sprites/button.png");
+        assets.sprite(GameStates.HIGHSCORES, "resources/sprites/wall2.png");
+        assets.sprite(GameStates.HIGHSCORES, "resources/sprites/button.png");
+        assets.finishSubmitting();
+        assets.phase("assets queued");
+    }
+
+    // screen constructors to register within the state machine, each once its own assets
+    // are loaded; the menu goes up first so it shows while the others are still coming
     private void initScreens() {
+        assets.await(GameStates.MENU);
         menuScreen = new MenuScreen(this, states, files);
+
+        // state machine initial state
+        synchronized (stepLock) {
+            states.set(GameStates.MENU);
+            menuScreen.onEnter();
+        }
+        markDirty();
+        assets.phase("menu screen built");
+
+        assets.await(GameStates.PLAYING);
+        sound = new SoundManager(files, assets);
         gameScreen = new GameScreen(this, states, input, files, sound);
+        assets.await(GameStates.GAME_OVER);
         gameOverScreen = new GameOverScreen(this, states);
+        assets.await(GameStates.HIGHSCORES);
         highScoreScreen = new HighScoreScreen(this, states, files);
+        screensBuilt.countDown();
+        assets.phase("all screens built");
+    }
 
-        // state machine initial state
-        states.set(GameStates.MENU);
-        menuScreen.onEnter();
+    // prints the startup report once both the first frame is up and every screen is built
+    private void startupStepDone() {
+        if (startupPending.decrementAndGet() == 0) assets.printReport();
     }
 
     @Override
     public void run() {
         createBufferStrategy(2);
         BufferStrategy bs = getBufferStrategy();
-
-        long prev = System.nanoTime();
-        double acc = 0;
+        allocBudget = AllocationBudget.fromSettings(files);
+        boolean firstFrame = true;
+        long lastFrameStart = 0;
 
         while (running) {
-            long now = System.nanoTime();
-            double dt = (now - prev) / 1_000_000_000.0;
-            prev = now;
-            acc += dt;
-
-            // run all fixed-step updates
-            while (acc >= FIXED_DT) {
-                currentScreen().update(FIXED_DT); // drive current screen logic
-                acc -= FIXED_DT;
+            allocBudget.beginFrame();
+            long frameStart = System.nanoTime();
+            if (lastFrameStart != 0) {
+                frameTime.record(frameStart - lastFrameStart);
+                Metrics.frameTimes().record(frameStart - lastFrameStart);
             }
+            lastFrameStart = frameStart;
 
-            input.poll(); // (melih) - enabled by chloe so controls work
-
+            Screen screen = currentScreen();
+            boolean cached = prepareFrame(screen);
+            double alpha = alpha();
+            boolean lost;
             do {
+                boolean restored;
                 do {
+                    long renderStart = System.nanoTime();
                     Graphics2D g = (Graphics2D) bs.getDrawGraphics();
-                    g.setColor(Color.BLACK);
-                    g.fillRect(0, 0, WIDTH, HEIGHT);
-
-                    currentScreen().render(g); // draw current screen
-
+                    drawFrame(g, screen, cached, alpha);
                     g.dispose();
-                } while (bs.contentsRestored());
+                    renderTime.record(System.nanoTime() - renderStart);
+                    restored = bs.contentsRestored();
+                    if (restored) contentsLost.increment();
+                } while (restored);
+                long presentStart = System.nanoTime();
                 bs.show();
-            } while (bs.contentsLost());
+                presentTime.record(System.nanoTime() - presentStart);
+                lost = bs.contentsLost();
+                if (lost) contentsLost.increment();
+            } while (lost);
+            frames.increment();
+            latency.frameShown(System.nanoTime());
+
+            if (firstFrame && screen != null) {
+                firstFrame = false;
+                assets.phase("first frame");
+                startupStepDone();
+            }
+
+            allocBudget.endFrame();
+            pacer.sync(); // wait for the next frame instead of spinning flat out
         }
     }
 
+    // static screens render once into the frame cache, then it is presented as is
+    // returns whether this frame presents the cache
+    private boolean prepareFrame(Screen screen) {
+        boolean cached = screen != null && screen.isStatic();
+        if (cached && (dirty || frameCache == null)) {
+            dirty = false; // cleared first, so an event during the render marks it again
+            renderToCache(screen);
+        }
+        return cached;
+    }
+
+    private void drawFrame(Graphics2D g, Screen screen, boolean cached, double alpha) {
+        if (cached) {
+            g.drawImage(frameCache, 0, 0, null);
+        } else {
+            g.setColor(Color.BLACK);
+            g.fillRect(0, 0, WIDTH, HEIGHT);
+
+            if (screen == null) drawLoading(g);
+            else screen.render(g, alpha); // draw current screen
+        }
+
+        if (showMetrics) {
+            if (metricsOverlay == null) metricsOverlay = new MetricsOverlay();
+            metricsOverlay.draw(g);
+        }
+    }
+
+    // shown until the menu screen is built: how many assets are in so far
+    private void drawLoading(Graphics2D g) {
+        int barW = WIDTH / 3, x = (WIDTH - barW) / 2, y = HEIGHT / 2;
+        int total = Math.max(1, assets.getTotal());
+        g.setColor(Color.DARK_GRAY);
+        g.fillRect(x, y, barW, 6);
+        g.setColor(Color.WHITE);
+        g.fillRect(x, y, barW * assets.getLoaded() / total, 6);
+        g.drawString("Loading...", x, y - 12);
+    }
+
+    // fraction of a fixed step that has passed since the last one, 0..1
+    private double alpha() {
+        double a = (System.nanoTime() - lastStepNanos) / (fixedDt * 1_000_000_000.0);
+        return a < 0 ? 0 : Math.min(a, 1);
+    }
+
+    private void renderToCache(Screen screen) {
+        if (frameCache == null) {
+            // compatible and rarely written, so Java2D keeps it accelerated
+            frameCache = SpriteCache.createCompatible(WIDTH, HEIGHT, Transparency.OPAQUE);
+        }
+        Graphics2D g = frameCache.createGraphics();
+        g.setColor(Color.BLACK);
+        g.fillRect(0, 0, WIDTH, HEIGHT);
+        screen.render(g);
+        g.dispose();
+    }
+
     // used for transitions - decide which screen is active (based on GameStates)
     private Screen currentScreen() {
-        switch (states.get()) {
+        return getScreen(states.get());
+    }
+
+    /** The screen shown in the given state, e.g. for benchmarks that set it up directly. */
+    public Screen getScreen(GameStates state) {
+        switch (state) {
             case MENU:
                 return menuScreen;
             case PLAYING:
@@ -144,9 +478,32 @@ public class Core extends Canvas implements Runnable {
 
     // for menu button - handling state change
     private void transition(GameStates next) {
-        currentScreen().onExit();   // screen handles cleanup
-        states.set(next);
-        currentScreen().onEnter();  // screen handles setup
+        awaitScreens(); // a click on the menu can come before the other screens are built
+        if (allocBudget != null) allocBudget.skipFrame(); // screens may allocate while switching
+        synchronized (stepLock) {   // re-entered when a step itself switches (pause, game over)
+            if (getScreen(next) == currentScreen()) {
+                states.set(next);       // pause/resume: same screen, the game must keep going
+                markDirty();
+                return;
+            }
+            currentScreen().onExit();   // screen handles cleanup
+            states.set(next);
+            currentScreen().onEnter();  // screen handles setup
+        }
+        markDirty();                // last, so the render can't cache a half set-up screen
+    }
+
+    private void awaitScreens() {
+        try {
+            screensBuilt.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Turn latency from key press to the screen, recorded by the input, game screen and render loop. */
+    public InputLatency getLatency() {
+        return latency;
     }
 
     /*helper for later when ashley adds sounds - to keep constructors valid*/
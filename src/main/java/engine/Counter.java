@@ -0,0 +1,21 @@
+package engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/** A named running total, safe and allocation-free to bump from any thread. */
+public final class Counter {
+
+    private final String name;
+    private final AtomicLong value = new AtomicLong();
+
+    public Counter(String name) {
+        this.name = name;
+    }
+
+    public String getName() { return name; }
+
+    public void increment() { value.incrementAndGet(); }
+    public void add(long n) { value.addAndGet(n); }
+    public long get() { return value.get(); }
+    public void reset() { value.set(0); }
+}
@@ -17,6 +17,8 @@ public class FileManager {
 
     private List<Score> highScores;
     private Properties settings;
+    private final Properties overrides = new Properties();   // this run only, never saved
+    private final LatencyHistogram persistenceTime = Metrics.histogram(Metrics.PERSISTENCE);
 
     public FileManager() {
         this.highScores = new ArrayList<>();
@@ -31,6 +33,7 @@ public class FileManager {
      */
     @SuppressWarnings("unchecked")
     public void loadHighScores() {
+        long start = System.nanoTime();
         try (ObjectInputStream ois = new ObjectInputStream(
                 new FileInputStream(HIGH_SCORES_FILE))) {
 
@@ -45,12 +48,14 @@ public class FileManager {
             System.err.println("Error loading high scores: " + e.getMessage());
             initializeDefaultHighScores();
         }
+        persistenceTime.record(System.nanoTime() - start);
     }
 
     /**
      * Save high scores to file
      */
     public void saveHighScores() {
+        long start = System.nanoTime();
         try (ObjectOutputStream oos = new ObjectOutputStream(
                 new FileOutputStream(HIGH_SCORES_FILE))) {
 
@@ -67,6 +72,7 @@ public class FileManager {
                     "Error saving high scores: " + e.getMessage(),
                     "Save Error", JOptionPane.ERROR_MESSAGE);
         }
+        persistenceTime.record(System.nanoTime() - start);
     }
 
     /**
@@ -108,6 +114,7 @@ public class FileManager {
      * Load game settings
      */
     public void loadSettings() {
+        long start = System.nanoTime();
         try (FileInputStream fis = new FileInputStream(SETTINGS_FILE)) {
             settings.load(fis);
         } catch (FileNotFoundException e) {
@@ -117,12 +124,14 @@ public class FileManager {
             System.err.println("Error loading settings: " + e.getMessage());
             setDefaultSettings();
         }
+        persistenceTime.record(System.nanoTime() - start);
     }
 
     /**
      * Save game settings
      */
     public void saveSettings() {
+        long start = System.nanoTime();
         try (FileOutputStream fos = new FileOutputStream(SETTINGS_FILE)) {
             settings.store(fos, "Snake Game Settings");
         } catch (IOException e) {
@@ -130,23 +139,53 @@ public class FileManager {
                     "Error saving settings: " + e.getMessage(),
                     "Save Error", JOptionPane.ERROR_MESSAGE);
         }
+        persistenceTime.record(System.nanoTime() - start);
     }
 
     /**
      * Get setting with default value
      */
     public String getSetting(String key, String defaultValue) {
-        return settings.getProperty(key, defaultValue);
+        String value = lookup(key);
+        return value != null ? value : defaultValue;
     }
 
     /**
-     * Set game setting
+     * Get integer setting, falling back to the default if missing or not a number
+     */
+    public int getIntSetting(String key, int defaultValue) {
+        String value = lookup(key);
+        if (value == null) return defaultValue;
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("Bad value for setting " + key + ": " + value);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Override a setting for this run only (e.g. from the command line), without saving it
+     */
+    public void overrideSetting(String key, String value) {
+        overrides.setProperty(key, value);
+    }
+
+    /**
+     * Set game setting (replaces any override of it for this run)
      */
     public void setSetting(String key, String value) {
+        overrides.remove(key);
         settings.setProperty(key, value);
         saveSettings();
     }
 
+    // overrides first, then the saved settings
+    private String lookup(String key) {
+        String value = overrides.getProperty(key);
+        return value != null ? value : settings.getProperty(key);
+    }
+
     /**
      * Initialize default high scores for demonstration
      */
@@ -166,6 +205,21 @@ public class FileManager {
         settings.setProperty("player_name", "PLAYER1");
         settings.setProperty("sound_enabled", "true");
         settings.setProperty("music_volume", "80");
+        settings.setProperty("board_cols", "18");   // board size in tiles, may be larger than the window
+        settings.setProperty("board_rows", "13");
+        settings.setProperty("sound_mixer", "clips");       // "software" mixes all sounds on one audio thread and line
+        settings.setProperty("mixer_buffer_frames", "512"); // software mixer buffer, smaller = lower latency (44100 per second)
+        settings.setProperty("mixer_sink", "line");         // software mixer output: line, null, or file:PATH.wav
+        settings.setProperty("incremental_render", "true"); // patch only changed cells instead of redrawing the snake
+        settings.setProperty("interpolate_render", "false");// slide head and tail between cells instead of jumping
+        settings.setProperty("asset_threads", "0");        // asset loader threads at launch, 0 = by core count
+        settings.setProperty("metrics_overlay", "false");  // frame-time graph and timings on start (F3 toggles)
+        settings.setProperty("latency_overlay", "false");  // show turn latency (key to screen) in game, print it on exit
+        settings.setProperty("tick_rate", "60");            // game logic steps per second
+        settings.setProperty("target_fps", "60");           // frame limit, 0 = unthrottled (as fast as show() allows)
+        settings.setProperty("idle_fps", "10");             // frame rate while the window is unfocused or minimized
+        settings.setProperty("alloc_budget", "0");          // bytes per frame the game loop may allocate, 0 = don't check
+        settings.setProperty("alloc_budget_fail", "false"); // stop on an over-budget frame instead of reporting it
     }
 
 
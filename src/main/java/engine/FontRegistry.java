@@ -0,0 +1,49 @@
+package engine;
+
+import java.awt.Font;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide font cache: each TTF file is parsed once, and every style/size derived
+ * from it is kept, so all screens share the same Font instances.
+ */
+public final class FontRegistry {
+
+    public static final String ALAGARD = "resources/fonts/alagard.ttf";
+
+    private static final Map<String, Font> baseFonts = new ConcurrentHashMap<>();
+    private static final Map<String, Font> derived = new ConcurrentHashMap<>();
+
+    private FontRegistry() { }
+
+    /**
+     * The font in {@code path} at the given style and size.
+     *
+     * @throws RuntimeException if the file can't be read or isn't a TrueType font;
+     *         callers pick their own fallback font
+     */
+    public static Font get(String path, int style, float size) {
+        Font base = baseFonts.computeIfAbsent(path, FontRegistry::parse);
+        return derived.computeIfAbsent(key(path, style, size), k -> base.deriveFont(style, size));
+    }
+
+    /** Parses the file now (e.g. on a loader thread) so later get() calls only derive sizes. */
+    public static void preload(String path) {
+        baseFonts.computeIfAbsent(path, FontRegistry::parse);
+    }
+
+    private static String key(String path, int style, float size) {
+        return path + "#" + style + "#" + size;
+    }
+
+    private static Font parse(String path) {
+        try (InputStream in = new FileInputStream(path)) {
+            return Font.createFont(Font.TRUETYPE_FONT, in);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to load font: " + path, e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package engine;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Paces the game loop to a target frame rate instead of rendering as fast as possible.
+ *
+ * Waiting is hybrid: the thread parks until shortly before the frame deadline (cheap but
+ * only accurate to a millisecond or so, worse on some OSes) and spins for the rest, so
+ * frames land on time without burning a core. While idle (window unfocused or iconified)
+ * it drops to a low rate and only parks - no spinning.
+ *
+ * A target of 0 or less leaves the loop unthrottled, so it runs at whatever rate
+ * BufferStrategy.show() allows (vsync-aligned on pipelines that wait for it).
+ * Only the render rate changes; the game logic ticks at a fixed rate on its own thread,
+ * so game speed is the same at any rate.
+ */
+public final class FramePacer {
+
+    private static final long SPIN_NS = 1_500_000L;   // spin the last 1.5 ms before a deadline
+
+    private final long framePeriodNs;   // 0 = unthrottled
+    private final long idlePeriodNs;
+    private volatile boolean idle;
+
+    private long nextFrame;             // deadline of the next frame, System.nanoTime()
+
+    public FramePacer(int targetFps, int idleFps) {
+        this.framePeriodNs = targetFps > 0 ? 1_000_000_000L / targetFps : 0;
+        this.idlePeriodNs = 1_000_000_000L / Math.max(1, idleFps);
+    }
+
+    public static FramePacer fromSettings(FileManager files) {
+        return new FramePacer(files.getIntSetting("target_fps", 60), files.getIntSetting("idle_fps", 10));
+    }
+
+    /** Low-rate idling while nothing needs to be smooth, e.g. window in the background. */
+    public void setIdle(boolean idle) {
+        this.idle = idle;
+    }
+
+    public boolean isIdle() { return idle; }
+
+    /** Waits until the next frame is due. Call once per frame, after the frame is shown. */
+    public void sync() {
+        boolean idleNow = idle;
+        long period = idleNow ? idlePeriodNs : framePeriodNs;
+        long now = System.nanoTime();
+        if (period == 0) {
+            nextFrame = now;
+            return;
+        }
+
+        nextFrame += period;
+        if (now - nextFrame > period) {
+            // fell more than a frame behind (stall, breakpoint, switch from idle) -
+            // start again from now instead of rushing frames to catch up
+            nextFrame = now + period;
+        }
+
+        // park most of the way - while idle all the way, precision doesn't matter then
+        long spin = idleNow ? 0 : SPIN_NS;
+        long remaining;
+        while ((remaining = nextFrame - System.nanoTime()) > spin) {
+            LockSupport.parkNanos(remaining - spin);
+        }
+
+        // spin the rest for an accurate deadline
+        while (nextFrame - System.nanoTime() > 0) {
+            Thread.onSpinWait();
+        }
+    }
+}
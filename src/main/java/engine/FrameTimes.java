@@ -0,0 +1,36 @@
+package engine;
+
+/**
+ * The last few hundred frame times (start of one frame to the start of the next), for
+ * the frame-time graph. Written and read by the render thread only.
+ */
+public final class FrameTimes {
+
+    private final float[] millis;
+    private int next, size;
+
+    public FrameTimes(int capacity) {
+        millis = new float[capacity];
+    }
+
+    public void record(long nanos) {
+        millis[next] = nanos / 1e6f;
+        next = (next + 1) % millis.length;
+        if (size < millis.length) size++;
+    }
+
+    public int size() { return size; }
+    public int capacity() { return millis.length; }
+
+    /** The i-th frame time kept (ms), 0 the oldest. */
+    public float get(int i) {
+        return millis[(next - size + i + millis.length) % millis.length];
+    }
+
+    /** Frames per second over the frames kept. */
+    public double getFps() {
+        double total = 0;
+        for (int i = 0; i < size; i++) total += millis[i];
+        return total > 0 ? size * 1000 / total : 0;
+    }
+}
@@ -0,0 +1,62 @@
+package engine;
+
+/**
+ * How long a turn takes from key to screen, stage by stage:
+ * <ul>
+ *   <li>key -> tick: from the key press (event thread) to the game step that turns the
+ *       snake, which includes waiting for the snake's next move</li>
+ *   <li>tick -> render: from that step to the first frame drawn from it</li>
+ *   <li>render -> show: from starting that frame to it being shown (bs.show())</li>
+ *   <li>key -> show: the whole way</li>
+ * </ul>
+ * Each stage is a {@link LatencyHistogram} in the {@link Metrics} registry, recorded
+ * without allocating, so this is always on; print it with {@link #printReport()} or show
+ * it with the latency overlay.
+ */
+public final class InputLatency {
+
+    private final LatencyHistogram keyToTick = Metrics.histogram("key -> tick");
+    private final LatencyHistogram tickToRender = Metrics.histogram("tick -> render");
+    private final LatencyHistogram renderToShow = Metrics.histogram("render -> show");
+    private final LatencyHistogram keyToShow = Metrics.histogram("key -> show");
+    private final LatencyHistogram[] stages = { keyToTick, tickToRender, renderToShow, keyToShow };
+
+    // render thread: the turn being followed to the screen
+    private long lastTurnTick;
+    private long pendingKey, pendingRender;
+
+    /** Simulation thread: the step at {@code tickNanos} applied a turn pressed at {@code keyNanos}. */
+    public void turnApplied(long keyNanos, long tickNanos) {
+        keyToTick.record(tickNanos - keyNanos);
+    }
+
+    /**
+     * Render thread: a frame starting at {@code renderNanos} draws the state after the last
+     * turn (0 if none yet); only the first frame of each turn is counted.
+     */
+    public void frameRendered(long keyNanos, long tickNanos, long renderNanos) {
+        if (tickNanos == lastTurnTick) return;
+        lastTurnTick = tickNanos;
+        tickToRender.record(renderNanos - tickNanos);
+        pendingKey = keyNanos;
+        pendingRender = renderNanos;
+    }
+
+    /** Render thread: the frame just drawn is now on screen. */
+    public void frameShown(long showNanos) {
+        if (pendingRender == 0) return;
+        renderToShow.record(showNanos - pendingRender);
+        keyToShow.record(showNanos - pendingKey);
+        pendingRender = 0;
+    }
+
+    /** key -> tick, tick -> render, render -> show, key -> show. */
+    public LatencyHistogram[] getStages() {
+        return stages;
+    }
+
+    public void printReport() {
+        System.out.println("[Latency] turn input to screen:");
+        for (LatencyHistogram stage : stages) System.out.println("[Latency]   " + stage);
+    }
+}
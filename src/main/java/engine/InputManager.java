@@ -4,24 +4,41 @@ import entity.Snake;
 import java.awt.Component;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Arrays;
 
 /**
  * Handles keyboard input:
  *  - Arrow keys for movement
  *  - P / ESC to pause or resume
  *  - R to restart
+ *
+ * Keys arrive on the AWT event thread and are handed to the game's simulation thread
+ * through a lock-free queue of timestamped presses, so the event thread never waits and
+ * the game never reads half-written state. {@link #poll()} drains the queue once per tick.
+ * Turns go into a small buffer and are applied one per move, so two quick turns made
+ * within one move (e.g. up then left to double back) both happen.
  */
 public class InputManager implements KeyListener {
 
-    private final Set<Integer> pressed = new HashSet<>();
+    private static final int QUEUE_SIZE = 64;   // presses between two ticks, far more than anyone types
+    private static final int MAX_TURNS = 3;     // turns buffered ahead of the snake
 
+    // ---- event thread ----
+    private final KeyEventQueue events = new KeyEventQueue(QUEUE_SIZE);
+    private final boolean[] held = new boolean[256];   // to ignore key repeat, by key code
+    private volatile boolean releaseAll;               // reset() asked to forget held keys
+
+    // ---- simulation thread ----
+    private final Snake.Direction[] turns = new Snake.Direction[MAX_TURNS];   // ring of pending turns
+    private final long[] turnTimes = new long[MAX_TURNS];
+    private int firstTurn, turnCount;
+    private long lastTurnNanos;     // when the key of the last applied turn was pressed
     private boolean pauseToggled = false;
     private boolean restartRequested = false;
+    private long handledReset;
 
-    private Snake.Direction currentDir = Snake.Direction.RIGHT;
-    private Snake.Direction queuedDir = Snake.Direction.RIGHT;
+    // presses from before this (nanoTime) belong to the previous screen, any thread
+    private volatile long resetNanos = System.nanoTime();
 
     public InputManager(Component attachTo) {
         attachTo.addKeyListener(this);
@@ -29,9 +46,32 @@ public class InputManager implements KeyListener {
         attachTo.requestFocus();
     }
 
-    /** Called once per frame to update input state. */
+    /** Called once per tick, before the screen updates, to take in the keys pressed since. */
     public void poll() {
-        currentDir = queuedDir;
+        long reset = resetNanos;
+        if (reset != handledReset) {
+            handledReset = reset;
+            turnCount = 0;
+            pauseToggled = false;
+            restartRequested = false;
+        }
+
+        while (events.poll()) {
+            if (events.nanos() - reset < 0) continue;   // pressed before the reset
+            switch (events.code()) {
+                case KeyEvent.VK_UP:    queueTurn(Snake.Direction.UP, events.nanos()); break;
+                case KeyEvent.VK_DOWN:  queueTurn(Snake.Direction.DOWN, events.nanos()); break;
+                case KeyEvent.VK_LEFT:  queueTurn(Snake.Direction.LEFT, events.nanos()); break;
+                case KeyEvent.VK_RIGHT: queueTurn(Snake.Direction.RIGHT, events.nanos()); break;
+                case KeyEvent.VK_P:
+                case KeyEvent.VK_ESCAPE:
+                    pauseToggled = true;
+                    break;
+                case KeyEvent.VK_R:
+                    restartRequested = true;
+                    break;
+            }
+        }
     }
 
     public boolean consumePauseToggled() {
@@ -46,56 +86,78 @@ public class InputManager implements KeyListener {
         return x;
     }
 
-    /** Returns the newly requested direction for this frame, or null if none. */
-    public Snake.Direction consumeDirectionChange() {
-        return queuedDir; // changed to always return queuedDir
+    /**
+     * The next buffered turn for a move of a snake heading {@code current}, or null to keep
+     * going. Turns that would reverse it or don't change anything are dropped on the way.
+     */
+    public Snake.Direction consumeDirectionChange(Snake.Direction current) {
+        while (turnCount > 0) {
+            Snake.Direction next = turns[firstTurn];
+            long pressed = turnTimes[firstTurn];
+            firstTurn = (firstTurn + 1) % MAX_TURNS;
+            turnCount--;
+            if (next != current && !isOpposite(current, next)) {
+                lastTurnNanos = pressed;
+                return next;
+            }
+        }
+        return null;
+    }
+
+    /** When (System.nanoTime) the key behind the last turn handed out was pressed. */
+    public long getLastTurnNanos() {
+        return lastTurnNanos;
     }
 
     @Override
     public void keyPressed(KeyEvent e) {
+        long now = System.nanoTime();
         int code = e.getKeyCode();
-        if (!pressed.add(code)) return;
+        if (releaseAll) {
+            releaseAll = false;
+            Arrays.fill(held, false);
+        }
+        if (code >= 0 && code < held.length) {
+            if (held[code]) return;   // key repeat
+            held[code] = true;
+        }
 
         switch (code) {
             // ✅ Only arrow keys for movement
             case KeyEvent.VK_UP:
-                requestDirection(Snake.Direction.UP);
-                break;
             case KeyEvent.VK_DOWN:
-                requestDirection(Snake.Direction.DOWN);
-                break;
             case KeyEvent.VK_LEFT:
-                requestDirection(Snake.Direction.LEFT);
-                break;
             case KeyEvent.VK_RIGHT:
-                requestDirection(Snake.Direction.RIGHT);
-                break;
-
             // Pause / Resume
             case KeyEvent.VK_P:
             case KeyEvent.VK_ESCAPE:
-                pauseToggled = true;
-                break;
-
             // Restart
             case KeyEvent.VK_R:
-                restartRequested = true;
+                events.offer(code, now);   // full: dropped, never blocks the event thread
                 break;
         }
     }
 
     @Override
     public void keyReleased(KeyEvent e) {
-        pressed.remove(e.getKeyCode());
+        int code = e.getKeyCode();
+        if (code >= 0 && code < held.length) held[code] = false;
     }
 
     @Override
     public void keyTyped(KeyEvent e) { /* not used */ }
 
-    private void requestDirection(Snake.Direction next) {
-        if (!isOpposite(currentDir, next)) {
-            queuedDir = next;
+    // buffers a turn unless it repeats or reverses the one before it
+    private void queueTurn(Snake.Direction next, long nanos) {
+        if (turnCount > 0) {
+            Snake.Direction last = turns[(firstTurn + turnCount - 1) % MAX_TURNS];
+            if (next == last || isOpposite(last, next)) return;
         }
+        if (turnCount == MAX_TURNS) return;   // too far ahead, keep the earlier ones
+        int slot = (firstTurn + turnCount) % MAX_TURNS;
+        turns[slot] = next;
+        turnTimes[slot] = nanos;
+        turnCount++;
     }
 
     private boolean isOpposite(Snake.Direction a, Snake.Direction b) {
@@ -105,12 +167,13 @@ public class InputManager implements KeyListener {
                 (a == Snake.Direction.RIGHT && b == Snake.Direction.LEFT);
     }
 
+    /**
+     * Forgets pending keys, e.g. for a new game. Safe from any thread: the simulation
+     * thread drops its state, and any press made before now, at its next poll().
+     */
     public void reset() {
-        pressed.clear();
-        pauseToggled = false;
-        restartRequested = false;
-        currentDir = Snake.Direction.RIGHT;
-        queuedDir = Snake.Direction.RIGHT;
+        releaseAll = true;
+        resetNanos = System.nanoTime();
     }
 
 }
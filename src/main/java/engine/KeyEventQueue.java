@@ -0,0 +1,65 @@
+package engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded lock-free queue of timestamped key presses from one producer thread (the AWT
+ * event thread) to one consumer (the game's simulation thread). Preallocated ring, so
+ * posting never allocates or blocks: a full queue just drops the key.
+ *
+ * With one thread on each end no CAS is needed: the producer writes a slot and then
+ * publishes it by advancing the tail, the consumer reads it and then frees it by
+ * advancing the head. Each side only ever writes its own counter.
+ */
+final class KeyEventQueue {
+
+    private final int[] codes;
+    private final long[] times;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();   // next slot to write, producer
+    private final AtomicLong head = new AtomicLong();   // next slot to read, consumer
+    private long cachedHead;                            // producer's last look at head
+
+    // the event taken by the last successful poll(), consumer only
+    private int code;
+    private long nanos;
+
+    /** @param capacity slots, a power of two */
+    KeyEventQueue(int capacity) {
+        if (Integer.bitCount(capacity) != 1) throw new IllegalArgumentException("capacity must be a power of two");
+        codes = new int[capacity];
+        times = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    /** Posts a key press from the producer thread. @return false if the queue is full */
+    boolean offer(int keyCode, long nanoTime) {
+        long t = tail.get();
+        if (t - cachedHead == codes.length) {
+            cachedHead = head.get();
+            if (t - cachedHead == codes.length) return false;
+        }
+        int slot = (int) t & mask;
+        codes[slot] = keyCode;
+        times[slot] = nanoTime;
+        tail.lazySet(t + 1);   // ordered after the slot writes
+        return true;
+    }
+
+    /** Takes the oldest event on the consumer thread, then read it with code() / nanos(). */
+    boolean poll() {
+        long h = head.get();
+        if (h == tail.get()) return false;
+        int slot = (int) h & mask;
+        code = codes[slot];
+        nanos = times[slot];
+        head.lazySet(h + 1);   // ordered after the slot reads
+        return true;
+    }
+
+    /** Key code of the event taken by the last poll(). */
+    int code() { return code; }
+
+    /** When (System.nanoTime) that key was pressed. */
+    long nanos() { return nanos; }
+}
@@ -0,0 +1,93 @@
+package engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-bucket histogram of durations, cheap and allocation-free to record into from any
+ * thread, so it can stay on in normal runs.
+ *
+ * Buckets are in microseconds, four per power of two (each about 19% wider than the one
+ * before), from 1 us up to over two hours; percentiles are reported as the upper edge
+ * of the bucket they fall in, so they are accurate to within that width.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKETS = 4;   // per power of two, keep a power of two
+    private static final int SUB_BITS = Integer.numberOfTrailingZeros(SUB_BUCKETS);
+    private static final int BUCKETS = 32 * SUB_BUCKETS;
+
+    private final String name;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    public LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    public String getName() { return name; }
+
+    /** Adds one duration; negative ones (clock oddities) count as zero. */
+    public void record(long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+        counts.incrementAndGet(bucketOf(micros));
+        count.incrementAndGet();
+        totalMicros.addAndGet(micros);
+        long max;
+        while (micros > (max = maxMicros.get()) && !maxMicros.compareAndSet(max, micros)) { }
+    }
+
+    public long getCount() { return count.get(); }
+    public long getMaxMicros() { return maxMicros.get(); }
+
+    public double getMeanMicros() {
+        long n = count.get();
+        return n == 0 ? 0 : (double) totalMicros.get() / n;
+    }
+
+    /** The duration (us) that a fraction p (0..1) of the recorded ones are at or under. */
+    public long getPercentileMicros(double p) {
+        long n = count.get();
+        if (n == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(p * n));
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += counts.get(b);
+            if (seen >= rank) return Math.min(upperEdge(b), maxMicros.get());
+        }
+        return maxMicros.get();
+    }
+
+    public void reset() {
+        for (int b = 0; b < BUCKETS; b++) counts.set(b, 0);
+        count.set(0);
+        totalMicros.set(0);
+        maxMicros.set(0);
+    }
+
+    /** One line: count, mean, p50 / p95 / p99 and max, in milliseconds. */
+    @Override
+    public String toString() {
+        return String.format("%-16s n=%-6d mean %6.1f  p50 %6.1f  p95 %6.1f  p99 %6.1f  max %6.1f ms",
+                name, getCount(), getMeanMicros() / 1000, getPercentileMicros(0.50) / 1000.0,
+                getPercentileMicros(0.95) / 1000.0, getPercentileMicros(0.99) / 1000.0, getMaxMicros() / 1000.0);
+    }
+
+    // values below SUB_BUCKETS get a bucket each, then SUB_BUCKETS per power of two
+    private static int bucketOf(long micros) {
+        if (micros < SUB_BUCKETS) return (int) micros;
+        int msb = 63 - Long.numberOfLeadingZeros(micros);
+        int sub = (int) (micros >>> (msb - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return Math.min(BUCKETS - 1, (msb - SUB_BITS + 1) * SUB_BUCKETS + sub);
+    }
+
+    // largest value that lands in bucket b
+    private static long upperEdge(int b) {
+        if (b < SUB_BUCKETS) return b;
+        int msb = b / SUB_BUCKETS + SUB_BITS - 1;
+        long sub = b % SUB_BUCKETS;
+        return ((SUB_BUCKETS + sub + 1) << (msb - SUB_BITS)) - 1;
+    }
+}
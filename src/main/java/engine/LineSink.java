@@ -0,0 +1,34 @@
+package engine;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.SourceDataLine;
+
+/** Mixer output to the default sound device, through one SourceDataLine. */
+final class LineSink implements AudioSink {
+
+    private SourceDataLine line;
+
+    @Override
+    public void open(AudioFormat format, int bufferBytes) throws Exception {
+        line = AudioSystem.getSourceDataLine(format);
+        // two mixer buffers: one playing, one being written - the line adds no latency of its own
+        line.open(format, bufferBytes * 2);
+        line.start();
+    }
+
+    @Override
+    public void write(byte[] buffer, int length) {
+        line.write(buffer, 0, length);
+    }
+
+    @Override
+    public void close() {
+        if (line == null) return;
+        line.stop();
+        line.close();
+    }
+
+    @Override
+    public boolean isRealTime() { return true; }
+}
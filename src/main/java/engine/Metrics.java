@@ -0,0 +1,124 @@
+package engine;
+
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Process-wide registry of the game's counters and latency histograms.
+ *
+ * Code that records asks for its counter or histogram once (e.g. into a final field) and
+ * then only bumps it, which never allocates or locks, so metrics stay on in normal runs.
+ * Everything registered can be read over JMX ({@link MetricsMXBean}) and is shown by the
+ * metrics overlay (F3 in game).
+ */
+public final class Metrics {
+
+    // histograms
+    public static final String UPDATE = "update";           // one fixed-rate update of the current screen
+    public static final String RENDER = "render";           // drawing one frame
+    public static final String PRESENT = "present";         // bs.show()
+    public static final String FRAME = "frame";             // start of one frame to the next
+    public static final String STEP = "step";               // one snake move: moving, collision check, growing, food
+    public static final String PERSISTENCE = "persistence"; // loading or saving scores / settings
+
+    // counters
+    public static final String TICKS = "ticks";
+    public static final String FRAMES = "frames";
+    public static final String CATCH_UP = "catch-up steps"; // extra steps run to catch up after a stall
+    public static final String CONTENTS_LOST = "contents lost"; // frames redrawn as the buffer was lost
+
+    private static final Map<String, Counter> counters = new LinkedHashMap<>();
+    private static final Map<String, LatencyHistogram> histograms = new LinkedHashMap<>();
+    private static final FrameTimes frameTimes = new FrameTimes(240);
+    private static boolean registered;
+
+    private Metrics() { }
+
+    /** The counter called {@code name}, made on first use. */
+    public static synchronized Counter counter(String name) {
+        return counters.computeIfAbsent(name, Counter::new);
+    }
+
+    /** The histogram called {@code name}, made on first use. */
+    public static synchronized LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, LatencyHistogram::new);
+    }
+
+    /** Recent frame times, for the graph; render thread only. */
+    public static FrameTimes frameTimes() {
+        return frameTimes;
+    }
+
+    public static synchronized List<Counter> getCounters() {
+        return new ArrayList<>(counters.values());
+    }
+
+    public static synchronized List<LatencyHistogram> getHistograms() {
+        return new ArrayList<>(histograms.values());
+    }
+
+    public static synchronized void reset() {
+        counters.values().forEach(Counter::reset);
+        histograms.values().forEach(LatencyHistogram::reset);
+    }
+
+    /** Publishes the metrics over JMX; only the first call does anything. */
+    public static synchronized void registerMBean() {
+        if (registered) return;
+        registered = true;
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(
+                    new StandardMBean(new Bean(), MetricsMXBean.class, true),
+                    new ObjectName("TeamScraps:type=Metrics"));
+        } catch (Exception e) {
+            System.err.println("Metrics not available over JMX: " + e.getMessage());
+        }
+    }
+
+    private static final class Bean implements MetricsMXBean {
+
+        private long lastFrames;
+        private long lastNanos = System.nanoTime();
+
+        @Override
+        public Map<String, Long> getCounters() {
+            Map<String, Long> out = new LinkedHashMap<>();
+            for (Counter c : Metrics.getCounters()) out.put(c.getName(), c.get());
+            return out;
+        }
+
+        @Override
+        public Map<String, String> getHistograms() {
+            Map<String, String> out = new LinkedHashMap<>();
+            for (LatencyHistogram h : Metrics.getHistograms()) out.put(h.getName(), h.toString());
+            return out;
+        }
+
+        @Override
+        public Map<String, Long> getP99Micros() {
+            Map<String, Long> out = new LinkedHashMap<>();
+            for (LatencyHistogram h : Metrics.getHistograms()) out.put(h.getName(), h.getPercentileMicros(0.99));
+            return out;
+        }
+
+        @Override
+        public synchronized double getFramesPerSecond() {
+            long frames = counter(FRAMES).get();
+            long now = System.nanoTime();
+            double fps = (frames - lastFrames) * 1e9 / Math.max(1, now - lastNanos);
+            lastFrames = frames;
+            lastNanos = now;
+            return fps;
+        }
+
+        @Override
+        public void reset() {
+            Metrics.reset();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package engine;
+
+import java.util.Map;
+
+/** The game's metrics over JMX (jconsole, VisualVM), under "TeamScraps:type=Metrics". */
+public interface MetricsMXBean {
+
+    /** Every counter by name. */
+    Map<String, Long> getCounters();
+
+    /** Every latency histogram by name, as count, mean, p50 / p95 / p99 and max in ms. */
+    Map<String, String> getHistograms();
+
+    /** p99 of every latency histogram, in microseconds, for graphing. */
+    Map<String, Long> getP99Micros();
+
+    /** Frames shown per second since the last time this was read. */
+    double getFramesPerSecond();
+
+    /** Zeroes every counter and histogram. */
+    void reset();
+}
@@ -0,0 +1,172 @@
+package engine;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+import java.net.URL;
+
+/**
+ * Plays a music track by decoding it from disk in small chunks on its own thread, so
+ * only a chunk and the output's buffer are ever in memory, however long the track is.
+ *
+ * The track loops: at the end the file is reopened and streaming carries on while the
+ * output still has buffered audio, so there is no gap. Pausing stops the output from
+ * taking data; the streaming thread then simply waits in write() until it resumes,
+ * keeping its place in the track - playing again doesn't reopen or re-decode anything.
+ */
+final class MusicStreamer {
+
+    /** Where decoded music goes: its own line, or the software mixer. */
+    interface Output {
+        /** The format to decode the track (in {@code source}) to. */
+        AudioFormat formatFor(AudioFormat source);
+
+        void open(AudioFormat format) throws Exception;
+
+        /** Takes 16-bit little-endian samples, blocking while full or paused. */
+        void write(byte[] data, int length);
+
+        void pause();
+
+        void resume();
+    }
+
+    private static final int CHUNK_FRAMES = 4096;
+
+    private final String name;
+    private final float gain;          // linear, applied while streaming
+    private final Output output;
+    private Thread thread;
+    private volatile boolean failed;   // file missing, undecodable or empty, stay quiet
+
+    MusicStreamer(String name, float gainDb, Output output) {
+        this.name = name;
+        this.gain = (float) Math.pow(10, gainDb / 20);
+        this.output = output;
+    }
+
+    /** Starts the track the first time, resumes it where it paused after that. */
+    synchronized void play() {
+        if (failed) return;
+        output.resume();
+        if (thread == null) {
+            thread = new Thread(this::stream, "MusicStreamer");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    void pause() {
+        output.pause();
+    }
+
+    private void stream() {
+        URL url = getClass().getClassLoader().getResource(name);
+        if (url == null) {
+            System.out.println("[SoundManager] File not found: " + name);
+            failed = true;
+            return;
+        }
+
+        AudioInputStream in = null;
+        try {
+            in = open(url);
+            AudioFormat format = in.getFormat();
+            try {
+                output.open(format);
+            } catch (LineUnavailableException | IllegalArgumentException e) {
+                System.out.println("[SoundManager] No audio line for music: " + e.getMessage());
+                failed = true;
+                return;
+            }
+
+            byte[] chunk = new byte[CHUNK_FRAMES * format.getFrameSize()];
+            boolean fresh = true;   // nothing read since the file was (re)opened
+            while (true) {
+                int n = in.readNBytes(chunk, 0, chunk.length);
+                if (n > 0) {
+                    applyGain(chunk, n);
+                    output.write(chunk, n);
+                    fresh = false;
+                } else if (fresh) {
+                    // no audio at all (empty or header-only file), looping would just spin
+                    System.out.println("[SoundManager] Empty track: " + name);
+                    failed = true;
+                    return;
+                }
+                if (n < chunk.length) {
+                    // end of the track - loop from the start
+                    in.close();
+                    in = open(url);
+                    fresh = true;
+                }
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            failed = true;
+        } finally {
+            if (in != null) {
+                try { in.close(); } catch (Exception ignored) { }
+            }
+        }
+    }
+
+    // the file decoded to the output's format on the fly
+    private AudioInputStream open(URL url) throws Exception {
+        AudioInputStream raw = AudioSystem.getAudioInputStream(url);
+        AudioFormat base = raw.getFormat();
+        AudioFormat pcm = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, base.getSampleRate(), 16,
+                base.getChannels(), base.getChannels() * 2, base.getSampleRate(), false);
+        AudioInputStream decoded = AudioSystem.getAudioInputStream(pcm, raw);
+        AudioFormat target = output.formatFor(pcm);
+        return target.matches(pcm) ? decoded : AudioSystem.getAudioInputStream(target, decoded);
+    }
+
+    private void applyGain(byte[] data, int length) {
+        if (gain == 1f) return;
+        for (int i = 0; i + 1 < length; i += 2) {
+            int s = (short) ((data[i] & 0xff) | (data[i + 1] << 8));
+            s = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, Math.round(s * gain)));
+            data[i] = (byte) s;
+            data[i + 1] = (byte) (s >> 8);
+        }
+    }
+
+    /** Output to its own SourceDataLine on the default device. */
+    static final class LineOutput implements Output {
+
+        private SourceDataLine line;
+        private boolean paused;
+
+        @Override
+        public AudioFormat formatFor(AudioFormat source) {
+            return source;
+        }
+
+        @Override
+        public synchronized void open(AudioFormat format) throws Exception {
+            line = AudioSystem.getSourceDataLine(format);
+            line.open(format);
+            if (!paused) line.start();
+        }
+
+        @Override
+        public void write(byte[] data, int length) {
+            line.write(data, 0, length);   // blocks while the line is stopped and full
+        }
+
+        @Override
+        public synchronized void pause() {
+            paused = true;
+            if (line != null) line.stop();
+        }
+
+        @Override
+        public synchronized void resume() {
+            paused = false;
+            if (line != null) line.start();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package engine;
+
+import javax.sound.sampled.AudioFormat;
+
+/** Discards the mixer output, e.g. on machines without an audio device. */
+final class NullSink implements AudioSink {
+
+    @Override public void open(AudioFormat format, int bufferBytes) { }
+    @Override public void write(byte[] buffer, int length) { }
+    @Override public void close() { }
+    @Override public boolean isRealTime() { return false; }
+}
@@ -0,0 +1,69 @@
+package engine;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.net.URL;
+
+/**
+ * A sound decoded once to 16-bit signed little-endian PCM and kept in memory, so playing
+ * it never opens or decodes the file again.
+ */
+final class PcmSound {
+
+    private final AudioFormat format;
+    private final byte[] data;
+
+    /** Samples already in 16-bit signed little-endian PCM; see {@link #load} for a resource. */
+    PcmSound(AudioFormat format, byte[] data) {
+        this.format = format;
+        this.data = data;
+    }
+
+    /**
+     * Decodes a .wav resource, keeping at most {@code maxSeconds} of it (0 or less for all).
+     *
+     * @return the sound, or null if the file is missing or can't be decoded
+     */
+    static PcmSound load(String name, double maxSeconds) {
+        URL url = PcmSound.class.getClassLoader().getResource(name);
+        if (url == null) {
+            System.out.println("[SoundManager] File not found: " + name);
+            return null;
+        }
+
+        // original stream (may be 24-bit, etc.) converted to 16-bit signed PCM,
+        // same sample rate & channels
+        try (AudioInputStream ais = AudioSystem.getAudioInputStream(url)) {
+            AudioFormat baseFormat = ais.getFormat();
+            AudioFormat decodedFormat = new AudioFormat(
+                    AudioFormat.Encoding.PCM_SIGNED,
+                    baseFormat.getSampleRate(),
+                    16,
+                    baseFormat.getChannels(),
+                    baseFormat.getChannels() * 2,        // 2 bytes per sample * channels
+                    baseFormat.getSampleRate(),
+                    false                                // little-endian
+            );
+
+            try (AudioInputStream decoded = AudioSystem.getAudioInputStream(decodedFormat, ais)) {
+                byte[] data;
+                if (maxSeconds > 0) {
+                    // only decode what is kept
+                    long frames = (long) (maxSeconds * decodedFormat.getFrameRate());
+                    data = decoded.readNBytes((int) (frames * decodedFormat.getFrameSize()));
+                } else {
+                    data = decoded.readAllBytes();
+                }
+                return new PcmSound(decodedFormat, data);
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    AudioFormat getFormat() { return format; }
+    byte[] getData() { return data; }
+    int getFrames() { return data.length / format.getFrameSize(); }
+}
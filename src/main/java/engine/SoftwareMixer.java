@@ -0,0 +1,290 @@
+package engine;
+
+import javax.sound.sampled.AudioFormat;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Mixes every sound in software on one audio thread into one output (an {@link AudioSink}),
+ * instead of a Clip and line per effect.
+ *
+ * Sounds are added up front and converted once to the output format, with their gain
+ * applied. Game code posts play/stop commands through a lock-free queue, so it never waits
+ * on audio; the audio thread takes them between buffers, sums the active voices into a
+ * buffer of {@code bufferFrames} frames and writes it out. Smaller buffers mean less
+ * latency between a command and hearing it, but less slack before the device runs dry.
+ *
+ * Music isn't added as a sound: a {@link MusicStreamer} decodes it as it plays and feeds
+ * it through a small ring of samples ({@link #musicOutput()}), mixed in with the voices.
+ */
+final class SoftwareMixer {
+
+    static final AudioFormat FORMAT = new AudioFormat(44100f, 16, 2, true, false);
+
+    private static final int MAX_SOUNDS = 16;
+    private static final int VOICES = 16;
+
+    // commands: operation in the high bits, sound id in the low 32
+    private static final long PLAY = 1L << 32;      // new voice, layered over any already playing
+    private static final long RESTART = 2L << 32;   // stop the sound's voices, then play it
+    private static final long LOOP = 3L << 32;      // play until stopped
+    private static final long STOP = 4L << 32;
+    private static final long OP_MASK = 0xffL << 32;
+
+    private static final int MUSIC_RING = 1 << 15;  // samples, about 0.37 s of stereo
+
+    private final AudioSink sink;
+    private final int bufferFrames;
+    private final CommandQueue commands = new CommandQueue(64);
+
+    // sounds, interleaved stereo samples in FORMAT with the gain applied
+    private final short[][] sounds = new short[MAX_SOUNDS][];
+    private int soundCount;
+
+    // voices, audio thread only; voiceSound -1 = free
+    private final int[] voiceSound = new int[VOICES];
+    private final int[] voicePos = new int[VOICES];
+    private final boolean[] voiceLoop = new boolean[VOICES];
+    private final long[] voiceStarted = new long[VOICES];
+    private long starts;
+
+    // streamed music: one writer (the streamer) and one reader (the audio thread)
+    private final short[] music = new short[MUSIC_RING];
+    private volatile long musicWritten, musicRead;
+    private volatile boolean musicPaused = true;
+
+    private final int[] mix;
+    private final byte[] out;
+    private volatile boolean running;
+    private Thread thread;
+
+    SoftwareMixer(AudioSink sink, int bufferFrames) {
+        this.sink = sink;
+        this.bufferFrames = bufferFrames;
+        this.mix = new int[bufferFrames * 2];
+        this.out = new byte[bufferFrames * FORMAT.getFrameSize()];
+        Arrays.fill(voiceSound, -1);
+    }
+
+    static SoftwareMixer fromSettings(FileManager files) {
+        return new SoftwareMixer(AudioSink.forName(files.getSetting("mixer_sink", "line")),
+                Math.max(64, files.getIntSetting("mixer_buffer_frames", 512)));
+    }
+
+    /**
+     * Adds a sound before {@link #start()}, converted to the output format at the given gain (dB).
+     *
+     * @return its id for play/stop, or -1 if the sound is null (playing -1 does nothing)
+     */
+    int add(PcmSound sound, float gainDb) {
+        if (sound == null || sound.getFrames() == 0) return -1;
+        if (soundCount == MAX_SOUNDS) throw new IllegalStateException("too many sounds");
+        sounds[soundCount] = convert(sound, (float) Math.pow(10, gainDb / 20));
+        return soundCount++;
+    }
+
+    /** Opens the sink (null sink if that fails) and starts the audio thread. */
+    void start() {
+        AudioSink target = sink;
+        try {
+            target.open(FORMAT, out.length);
+        } catch (Exception e) {
+            System.out.println("[SoundManager] No audio line, mixing to nowhere: " + e.getMessage());
+            target = new NullSink();
+        }
+        running = true;
+        AudioSink opened = target;
+        thread = new Thread(() -> mixLoop(opened), "AudioMixer");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+
+        // let the sink finish on exit (a recording needs its header written)
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "AudioMixerClose"));
+    }
+
+    /** Stops the audio thread and closes the sink once the current buffer is out. */
+    void close() {
+        running = false;
+        if (thread != null) {
+            try {
+                thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // ---- commands, from any thread ----
+
+    void play(int sound) { post(PLAY, sound); }
+    void restart(int sound) { post(RESTART, sound); }
+    void loop(int sound) { post(LOOP, sound); }
+    void stop(int sound) { post(STOP, sound); }
+
+    /** Output for a MusicStreamer, mixed in as it arrives; starts paused. */
+    MusicStreamer.Output musicOutput() {
+        return new MusicOutput();
+    }
+
+    private void post(long op, int sound) {
+        if (sound < 0) return;
+        commands.offer(op | sound);   // a full queue drops the command rather than wait
+    }
+
+    // ---- audio thread ----
+
+    private void mixLoop(AudioSink target) {
+        long bufferNanos = (long) (bufferFrames * 1_000_000_000.0 / FORMAT.getFrameRate());
+        long next = System.nanoTime();
+        while (running) {
+            for (long c; (c = commands.poll()) != CommandQueue.EMPTY; ) {
+                apply(c & OP_MASK, (int) c);
+            }
+            mixBuffer();
+            target.write(out, out.length);
+
+            if (!target.isRealTime()) {
+                // nothing blocks us, so keep real time by the clock
+                next += bufferNanos;
+                long wait = next - System.nanoTime();
+                if (wait > 0) LockSupport.parkNanos(wait);
+                else if (wait < -bufferNanos * 4) next = System.nanoTime();   // fell behind, don't rush
+            }
+        }
+        target.close();
+    }
+
+    private void apply(long op, int sound) {
+        if (op == STOP || op == RESTART) {
+            for (int v = 0; v < VOICES; v++) {
+                if (voiceSound[v] == sound) voiceSound[v] = -1;
+            }
+            if (op == STOP) return;
+        }
+        int v = freeVoice();
+        voiceSound[v] = sound;
+        voicePos[v] = 0;
+        voiceLoop[v] = op == LOOP;
+        voiceStarted[v] = starts++;
+    }
+
+    // a free voice, or the one playing longest (but not a loop) if all are busy
+    private int freeVoice() {
+        int oldest = -1;
+        for (int v = 0; v < VOICES; v++) {
+            if (voiceSound[v] < 0) return v;
+            if (!voiceLoop[v] && (oldest < 0 || voiceStarted[v] < voiceStarted[oldest])) oldest = v;
+        }
+        return oldest >= 0 ? oldest : 0;
+    }
+
+    private void mixBuffer() {
+        Arrays.fill(mix, 0);
+        for (int v = 0; v < VOICES; v++) {
+            int sound = voiceSound[v];
+            if (sound < 0) continue;
+            short[] samples = sounds[sound];
+            int pos = voicePos[v];
+            for (int i = 0; i < mix.length; i++) {
+                mix[i] += samples[pos++];
+                if (pos == samples.length) {
+                    if (!voiceLoop[v]) {
+                        voiceSound[v] = -1;
+                        break;
+                    }
+                    pos = 0;
+                }
+            }
+            voicePos[v] = pos;
+        }
+
+        if (!musicPaused) {
+            // whatever the streamer has ready; if it fell behind, the rest is silence
+            long read = musicRead;
+            int n = (int) Math.min(musicWritten - read, mix.length);
+            for (int i = 0; i < n; i++) {
+                mix[i] += music[(int) (read + i) & (MUSIC_RING - 1)];
+            }
+            musicRead = read + n;
+        }
+
+        // clip to 16 bits, little-endian
+        for (int i = 0, b = 0; i < mix.length; i++) {
+            int s = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, mix[i]));
+            out[b++] = (byte) s;
+            out[b++] = (byte) (s >> 8);
+        }
+    }
+
+    // 16-bit PCM in any rate and 1-2 channels to interleaved stereo at the output rate
+    // (linear interpolation), scaled by gain
+    private static short[] convert(PcmSound sound, float gain) {
+        AudioFormat f = sound.getFormat();
+        byte[] data = sound.getData();
+        int channels = f.getChannels();
+        int inFrames = sound.getFrames();
+        double step = f.getSampleRate() / FORMAT.getSampleRate();
+        int outFrames = (int) (inFrames / step);
+
+        short[] samples = new short[outFrames * 2];
+        for (int o = 0; o < outFrames; o++) {
+            double at = o * step;
+            int i = (int) at;
+            double t = at - i;
+            int j = Math.min(i + 1, inFrames - 1);
+            for (int c = 0; c < 2; c++) {
+                int ch = Math.min(c, channels - 1);   // mono goes to both sides
+                double a = sample(data, (i * channels + ch) * 2);
+                double b = sample(data, (j * channels + ch) * 2);
+                double s = (a + (b - a) * t) * gain;
+                samples[o * 2 + c] = (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, Math.round(s)));
+            }
+        }
+        return samples;
+    }
+
+    private static int sample(byte[] data, int at) {
+        return (short) ((data[at] & 0xff) | (data[at + 1] << 8));
+    }
+
+    private final class MusicOutput implements MusicStreamer.Output {
+
+        @Override
+        public AudioFormat formatFor(AudioFormat source) {
+            return FORMAT;
+        }
+
+        @Override
+        public void open(AudioFormat format) { }
+
+        @Override
+        public void write(byte[] data, int length) {
+            long waitNanos = (long) (bufferFrames * 500_000_000.0 / FORMAT.getFrameRate());
+            for (int i = 0, samples = length / 2; i < samples; ) {
+                long written = musicWritten;
+                // whole frames only, so the channels never swap
+                int n = Math.min(samples - i, (int) (MUSIC_RING - (written - musicRead))) & ~1;
+                if (n == 0) {
+                    LockSupport.parkNanos(waitNanos);   // full, or paused: wait for the mixer
+                    continue;
+                }
+                for (int k = 0; k < n; k++) {
+                    music[(int) (written + k) & (MUSIC_RING - 1)] = (short) sample(data, (i + k) * 2);
+                }
+                musicWritten = written + n;
+                i += n;
+            }
+        }
+
+        @Override
+        public void pause() {
+            musicPaused = true;
+        }
+
+        @Override
+        public void resume() {
+            musicPaused = false;
+        }
+    }
+}
@@ -1,8 +1,5 @@
 package engine;
 
-import javax.sound.sampled.*;
-import java.net.URL;
-
 /**
  * Manages all sound effects for the game:
  * - Background music (looping)
@@ -11,110 +8,108 @@ import java.net.URL;
  * - Wall collision sound
  *
  * Put .wav files into the resources folder and match the file names below.
+ *
+ * Effects are decoded once when the manager is created and played from pools of
+ * pre-opened clips, so playing one on the game thread does no I/O and opens nothing.
+ * With the "sound_mixer" setting at "software" every sound (music included) is instead
+ * mixed by a {@link SoftwareMixer} on its own thread into one output line.
+ *
+ * The music is streamed from disk by a {@link MusicStreamer} rather than loaded whole;
+ * stopping it pauses the stream, so the next game picks it up without reloading anything.
  */
 public class SoundManager {
 
-    private Clip bgmClip;
+    private static final String BGM_FILE  = "bgm.wav";
+    private static final String MOVE_FILE = "move.wav";
+    private static final String EAT_FILE  = "eat.wav";
+    private static final String HIT_FILE  = "hit.wav";
 
-    private Clip moveClip;
-    private final String BGM_FILE  = "bgm.wav";
-    private final String MOVE_FILE = "move.wav";
-    private final String EAT_FILE  = "eat.wav";
-    private final String HIT_FILE  = "hit.wav";
+    private static final double EAT_SECONDS = 0.5;   // only the start of eat.wav is used
 
+    private static final float MOVE_GAIN = +6.0f;     // boosted volume
+    private static final float BGM_GAIN = -15.0f;     // about 50% volume reduction
 
-    /** Play background BGM */
-    public void playBGM() {
-        try {
-            // Prevent duplicate playback
-            if (bgmClip != null && bgmClip.isRunning())
-                return;
+    // pre-opened voices per effect, null if the sound or an audio line is missing
+    private ClipPool movePool;   // one voice: each step restarts it (no overlap)
+    private ClipPool eatPool;
+    private ClipPool hitPool;
 
-            bgmClip = loadClip(BGM_FILE);
+    // software mixer mode: the mixer and each sound's id in it (-1 if missing)
+    private SoftwareMixer mixer;
+    private int moveId = -1, eatId = -1, hitId = -1;
 
-            if (bgmClip != null) {
+    private final MusicStreamer music;
 
-                // Reduce BGM volume to 50%
-                FloatControl gain = (FloatControl) bgmClip.getControl(FloatControl.Type.MASTER_GAIN);
-                float volume = -15.0f; // about 50% volume reduction
-                gain.setValue(volume);
+    public SoundManager() {
+        this(null, null);
+    }
 
-                bgmClip.loop(Clip.LOOP_CONTINUOUSLY);
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
+    public SoundManager(FileManager files) {
+        this(files, null);
+    }
+
+    /** Takes the effects from {@code assets} if they were queued there (see Core), else decodes them. */
+    public SoundManager(FileManager files, AssetManager assets) {
+        if (files != null && files.getSetting("sound_mixer", "clips").equals("software")) {
+            mixer = SoftwareMixer.fromSettings(files);
+            moveId = mixer.add(load(assets, MOVE_FILE, 0), MOVE_GAIN);
+            eatId  = mixer.add(load(assets, EAT_FILE, EAT_SECONDS), 0);
+            hitId  = mixer.add(load(assets, HIT_FILE, 0), 0);
+            mixer.start();
+            music = new MusicStreamer(BGM_FILE, BGM_GAIN, mixer.musicOutput());
+            return;
         }
+        music = new MusicStreamer(BGM_FILE, BGM_GAIN, new MusicStreamer.LineOutput());
+        movePool = ClipPool.open(load(assets, MOVE_FILE, 0), 1, MOVE_GAIN);
+        eatPool  = ClipPool.open(load(assets, EAT_FILE, EAT_SECONDS), 3, 0);
+        hitPool  = ClipPool.open(load(assets, HIT_FILE, 0), 2, 0);
+    }
+
+
+    /** Queues the effects on the asset loader, for the game screen; the music is streamed. */
+    public static void preload(AssetManager assets) {
+        assets.sound(GameStates.PLAYING, MOVE_FILE, 0);
+        assets.sound(GameStates.PLAYING, EAT_FILE, EAT_SECONDS);
+        assets.sound(GameStates.PLAYING, HIT_FILE, 0);
+    }
+
+
+    /** Play background BGM, from where it was stopped */
+    public void playBGM() {
+        music.play();   // already playing: nothing changes
     }
 
 
     /** Stop background music */
     public void stopBGM() {
-        if (bgmClip != null) {
-            bgmClip.stop();
-        }
+        music.pause();
     }
 
 
     /** Play movement sound (boosted volume) */
     public void playMove() {
-        try {
-            if (moveClip == null) {
-                moveClip = loadClip(MOVE_FILE);
-                if (moveClip == null) return;
-
-                // Set move volume once
-                try {
-                    FloatControl gain = (FloatControl) moveClip.getControl(FloatControl.Type.MASTER_GAIN);
-                    gain.setValue(+6.0f);
-                } catch (Exception ignored) {}
-            }
-
-            // restart from beginning (no overlap)
-            moveClip.stop();
-            moveClip.setFramePosition(0);
-            moveClip.start();
-
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        // restart from beginning (no overlap)
+        if (mixer != null) mixer.restart(moveId);
+        else play(movePool);
     }
 
     public void stopMove() {
-        if (moveClip != null && moveClip.isRunning()) {
-            moveClip.stop();
-            moveClip.setFramePosition(0);
-        }
+        if (mixer != null) mixer.stop(moveId);
+        else if (movePool != null) movePool.stop();
     }
 
 
-    /** Play eating sound (0.5 sec only) */
+    /** Play eating sound (0.5 sec only, trimmed when loaded) */
     public void playEat() {
-        try {
-            Clip clip = loadClip(EAT_FILE);
-
-            if (clip != null) {
-                clip.start();
-
-                // Stop after 0.5 seconds
-                new Thread(() -> {
-                    try {
-                        Thread.sleep(500);
-                        clip.stop();
-                    } catch (InterruptedException e) {
-                        e.printStackTrace();
-                    }
-                }).start();
-            }
-
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        if (mixer != null) mixer.play(eatId);
+        else play(eatPool);
     }
 
 
     /** Play wall collision sound */
     public void playHit() {
-        playEffect(HIT_FILE);
+        if (mixer != null) mixer.play(hitId);
+        else play(hitPool);
     }
 
 
@@ -122,53 +117,18 @@ public class SoundManager {
     // ---------------- internal methods ----------------
 
 
-    /** Play one-shot short effect */
-    private void playEffect(String fileName) {
-        try {
-            Clip clip = loadClip(fileName);
-            if (clip != null)
-                clip.start();
-
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+    private static PcmSound load(AssetManager assets, String name, double maxSeconds) {
+        return assets != null ? assets.getSound(name, maxSeconds) : PcmSound.load(name, maxSeconds);
     }
 
 
-    /** Load .wav file as Clip (convert to 16-bit PCM if needed) */
-    private Clip loadClip(String name) {
+    /** Play one-shot short effect */
+    private void play(ClipPool pool) {
+        if (pool == null) return;
         try {
-            URL url = getClass().getClassLoader().getResource(name);
-            if (url == null) {
-                System.out.println("[SoundManager] File not found: " + name);
-                return null;
-            }
-
-            // original stream (may be 24-bit, etc.)
-            AudioInputStream ais = AudioSystem.getAudioInputStream(url);
-            AudioFormat baseFormat = ais.getFormat();
-
-            // target format: 16-bit signed PCM, same sample rate & channels
-            AudioFormat decodedFormat = new AudioFormat(
-                    AudioFormat.Encoding.PCM_SIGNED,
-                    baseFormat.getSampleRate(),          // keep original sample rate
-                    16,                                  // 16-bit
-                    baseFormat.getChannels(),
-                    baseFormat.getChannels() * 2,        // 2 bytes per sample * channels
-                    baseFormat.getSampleRate(),
-                    false                                // little-endian
-            );
-
-            AudioInputStream decodedAis =
-                    AudioSystem.getAudioInputStream(decodedFormat, ais);
-
-            Clip clip = AudioSystem.getClip();
-            clip.open(decodedAis);
-            return clip;
-
+            pool.play();
         } catch (Exception e) {
             e.printStackTrace();
-            return null;
         }
     }
 
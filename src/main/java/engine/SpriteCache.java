@@ -0,0 +1,95 @@
+package engine;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide cache of sprites, shared by every screen.
+ *
+ * Each file is decoded once and copied into an image compatible with the screen's
+ * GraphicsConfiguration, which Java2D can keep in video memory and blit without
+ * converting pixels. Sprites that are always drawn at one size (tiles at the game's
+ * unit, full-screen backgrounds) can be asked for pre-scaled, so drawImage doesn't
+ * scale them again on every frame.
+ *
+ * Images handed out are shared - draw them, don't draw into them.
+ */
+public final class SpriteCache {
+
+    private static final Map<String, BufferedImage> cache = new ConcurrentHashMap<>();
+
+    private SpriteCache() { }
+
+    /** The sprite at its own size. */
+    public static BufferedImage get(String path) {
+        return cache.computeIfAbsent(path, p -> toCompatible(SpriteLoader.load(p), -1, -1));
+    }
+
+    /** The sprite scaled to size x size, e.g. the tile unit. */
+    public static BufferedImage get(String path, int size) {
+        return get(path, size, size);
+    }
+
+    /** The sprite scaled to w x h (nearest neighbour, so pixel art stays crisp). */
+    public static BufferedImage get(String path, int w, int h) {
+        BufferedImage original = get(path);
+        return cache.computeIfAbsent(path + "@" + w + "x" + h, k -> toCompatible(original, w, h));
+    }
+
+    /**
+     * A w x h block of one (usually translucent) color. Blitting it is much cheaper than a
+     * translucent fillRect, which goes through the mask-blending path and allocates each call.
+     */
+    public static BufferedImage fill(Color color, int w, int h) {
+        return cache.computeIfAbsent("#" + Integer.toHexString(color.getRGB()) + "@" + w + "x" + h, k -> {
+            BufferedImage img = createCompatible(w, h, color.getTransparency());
+            Graphics2D g = img.createGraphics();
+            g.setComposite(AlphaComposite.Src);   // store the color as is, don't blend it
+            g.setColor(color);
+            g.fillRect(0, 0, w, h);
+            g.dispose();
+            return img;
+        });
+    }
+
+    /** Drops every cached sprite, e.g. after the display configuration changed. */
+    public static void clear() {
+        cache.clear();
+    }
+
+    /**
+     * A blank image in the screen's pixel format (the usual software formats when headless:
+     * RGB if opaque, premultiplied ARGB otherwise), for anything rendered once and blitted
+     * often, like cached text.
+     */
+    public static BufferedImage createCompatible(int w, int h, int transparency) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(w, h, transparency == Transparency.OPAQUE
+                    ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB_PRE);
+        }
+        GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDefaultConfiguration();
+        return gc.createCompatibleImage(w, h, transparency);
+    }
+
+    // copy into a compatible image, scaling to w x h if given (-1 keeps the source size)
+    private static BufferedImage toCompatible(BufferedImage src, int w, int h) {
+        if (w < 0) w = src.getWidth();
+        if (h < 0) h = src.getHeight();
+
+        BufferedImage dst = createCompatible(w, h, src.getColorModel().getTransparency());
+        Graphics2D g = dst.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        g.drawImage(src, 0, 0, w, h, null);
+        g.dispose();
+        return dst;
+    }
+}
@@ -1,7 +1,7 @@
 package engine;
 
 public final class StateMachine {
-    private GameStates current = GameStates.MENU;
+    private volatile GameStates current = GameStates.MENU;   // read by the render and sim threads
 
     public GameStates get() { return current; }
     public boolean is(GameStates s) { return current == s; }
@@ -0,0 +1,50 @@
+package engine;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Lock-free handoff of the latest state from one writer thread to one reader thread.
+ *
+ * Three preallocated buffers: the writer fills its back buffer and publishes it with one
+ * atomic swap, the reader takes the newest published one with another. Neither side ever
+ * waits for the other or sees a half-written buffer, and nothing is allocated per handoff.
+ * The reader may skip states (it only ever gets the newest) or see the same one twice.
+ *
+ * Single writer, single reader: only one thread may call {@link #back()}/{@link #publish()}
+ * and only one may call {@link #latest()}.
+ */
+public final class TripleBuffer<T> {
+
+    private static final int INDEX = 0b11;
+    private static final int FRESH = 0b100;   // middle holds a buffer the reader hasn't taken
+
+    private final Object[] buffers = new Object[3];
+    private final AtomicInteger middle = new AtomicInteger(2);
+    private int back = 0;    // writer's
+    private int front = 1;   // reader's
+
+    public TripleBuffer(Supplier<T> factory) {
+        for (int i = 0; i < 3; i++) buffers[i] = factory.get();
+    }
+
+    /** The buffer the writer fills next. Its contents are whatever it held three publishes ago. */
+    @SuppressWarnings("unchecked")
+    public T back() {
+        return (T) buffers[back];
+    }
+
+    /** Hands the filled back buffer to the reader and gives the writer a new back buffer. */
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX;
+    }
+
+    /** The newest published buffer; stays the reader's until the next call. */
+    @SuppressWarnings("unchecked")
+    public T latest() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX;
+        }
+        return (T) buffers[front];
+    }
+}
@@ -0,0 +1,86 @@
+package engine;
+
+import javax.sound.sampled.AudioFormat;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+/**
+ * Records the mixer output to a 16-bit PCM .wav file, to check what was played on a
+ * machine without an audio device. The header's sizes are filled in on close.
+ */
+final class WavFileSink implements AudioSink {
+
+    private final String path;
+    private RandomAccessFile file;
+    private AudioFormat format;
+    private long dataBytes;
+
+    WavFileSink(String path) {
+        this.path = path;
+    }
+
+    @Override
+    public void open(AudioFormat format, int bufferBytes) throws IOException {
+        this.format = format;
+        file = new RandomAccessFile(path, "rw");
+        file.setLength(0);
+        writeHeader();
+    }
+
+    @Override
+    public void write(byte[] buffer, int length) {
+        try {
+            file.write(buffer, 0, length);
+            dataBytes += length;
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (file == null) return;
+        try {
+            file.seek(0);
+            writeHeader();
+            file.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public boolean isRealTime() { return false; }
+
+    private void writeHeader() throws IOException {
+        int channels = format.getChannels();
+        int rate = (int) format.getSampleRate();
+        int frameSize = format.getFrameSize();
+
+        file.writeBytes("RIFF");
+        writeIntLE((int) (36 + dataBytes));
+        file.writeBytes("WAVE");
+        file.writeBytes("fmt ");
+        writeIntLE(16);                      // fmt chunk size
+        writeShortLE(1);                     // PCM
+        writeShortLE(channels);
+        writeIntLE(rate);
+        writeIntLE(rate * frameSize);        // bytes per second
+        writeShortLE(frameSize);
+        writeShortLE(format.getSampleSizeInBits());
+        file.writeBytes("data");
+        writeIntLE((int) dataBytes);
+    }
+
+    private void writeIntLE(int v) throws IOException {
+        file.write(v);
+        file.write(v >>> 8);
+        file.write(v >>> 16);
+        file.write(v >>> 24);
+    }
+
+    private void writeShortLE(int v) throws IOException {
+        file.write(v);
+        file.write(v >>> 8);
+    }
+}
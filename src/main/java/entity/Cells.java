@@ -0,0 +1,22 @@
+package entity;
+
+/**
+ * Packs a grid cell (x, y) into a single long so cells can be stored in primitive arrays.
+ * Coordinates may be negative (e.g. a head that just left the board).
+ */
+public final class Cells {
+
+    private Cells() { }
+
+    public static long pack(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    public static int x(long cell) {
+        return (int) (cell >> 32);
+    }
+
+    public static int y(long cell) {
+        return (int) cell;
+    }
+}
@@ -6,21 +6,21 @@ public class CollisionHandler {
     public Result check(Snake snake, Food food, boolean[][] walls,
                         boolean wrap, int cols, int rows) {
 
-        Segment head = snake.getHead();
-        int x = head.getX(), y = head.getY();
+        int x = snake.getHeadX(), y = snake.getHeadY();
 
         if (wrap) {
+            boolean out = x < 0 || x >= cols || y < 0 || y >= rows;
             if (x < 0) x = cols-1; else if (x >= cols) x = 0;
             if (y < 0) y = rows-1; else if (y >= rows) y = 0;
-            head.set_Position(x, y);
+            if (out) snake.setHead(x, y);
         } else {
             if (x < 0 || x >= cols || y < 0 || y >= rows) return Result.HIT_WALL;
         }
 
         if (walls != null && walls[x][y]) return Result.HIT_WALL;
 
-        for (Segment s : snake.getBody())
-            if (s.getX()==x && s.getY()==y) return Result.HIT_SELF;
+        // the snake keeps an occupancy grid, so this is a bit test instead of a body scan
+        if (snake.isHeadOnBody()) return Result.HIT_SELF;
 
         if (food != null && food.getX()==x && food.getY()==y) return Result.ATE_FOOD;
 
@@ -1,22 +1,33 @@
 package entity;
 
-import java.awt.Graphics;
 import java.util.Random;
 
 public class Food {
     private int x, y;
-    private final Random rng = new Random();
+    private final Random rng;
+
+    public Food() { this(new Random()); }
+
+    public Food(Random rng) { this.rng = rng; }
 
     public int getX(){ return x; }
     public int getY(){ return y; }
 
-    public void respawn(boolean[][] walls, Snake snake, int cols, int rows) {
-        do { x = rng.nextInt(cols); y = rng.nextInt(rows); }
-        while ((walls!=null && walls[x][y]) || snake.occupies(x, y));
-    }
-
-    public void render(Graphics g, int unit) {
-        g.fillRect(x*unit, y*unit, unit, unit);
+    /**
+     * Moves the food to a uniformly random cell that is neither a wall nor the snake.
+     *
+     * @return false if no such cell is left (board full); the food is then taken off the board
+     */
+    public boolean respawn(boolean[][] walls, Snake snake, int cols, int rows) {
+        int cell = snake.board(cols, rows).randomFreeCell(walls, rng);
+        if (cell < 0) {
+            x = -1;
+            y = -1;
+            return false;
+        }
+        x = cell % cols;
+        y = cell / cols;
+        return true;
     }
 
     public void setPosition(int x, int y) {
@@ -24,5 +35,3 @@ public class Food {
         this.y = y;
     }
 }
-
-
@@ -0,0 +1,46 @@
+package entity;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Dense set of free board cells (by id = y * cols + x) with O(1) add, remove and
+ * uniform random pick: ids sit packed at the front of one array and a second array
+ * maps each id back to its position, so removal swaps in the last entry.
+ */
+final class FreeCellIndex {
+
+    private final int[] cells; // first 'count' entries are the free ids
+    private final int[] pos;   // id -> index into cells, or -1 when not free
+    private int count;
+
+    FreeCellIndex(int size) {
+        cells = new int[size];
+        pos = new int[size];
+        Arrays.fill(pos, -1);
+    }
+
+    int size() { return count; }
+
+    boolean contains(int id) { return pos[id] >= 0; }
+
+    void add(int id) {
+        if (pos[id] >= 0) return;
+        cells[count] = id;
+        pos[id] = count++;
+    }
+
+    void remove(int id) {
+        int at = pos[id];
+        if (at < 0) return;
+        int last = cells[--count];
+        cells[at] = last;
+        pos[last] = at;
+        pos[id] = -1;
+    }
+
+    /** Uniformly random free id, or -1 if none is left. */
+    int pick(Random rng) {
+        return count == 0 ? -1 : cells[rng.nextInt(count)];
+    }
+}
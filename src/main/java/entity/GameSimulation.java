@@ -0,0 +1,185 @@
+package entity;
+
+import java.util.Random;
+
+/**
+ * The game rules on their own: snake, food, walls, collisions, speed levels and the
+ * surprise flip, advanced one snake move at a time by {@link #step}.
+ *
+ * Has no AWT/Swing/sound dependencies and takes all randomness from the injected
+ * {@link Random}, so the same seed and inputs always replay the same game. That lets it
+ * run headless (bots, validation, load tests); GameScreen drives it and adds the
+ * timing, sound and effects on top.
+ */
+public class GameSimulation {
+
+    // speed levels: every 5 foods the snake moves faster, down to a minimum interval
+    public static final double BASE_MOVE_INTERVAL = 0.25;  // seconds between moves at start
+    public static final double LEVEL_SPEEDUP = 0.03;       // how much faster each level
+    public static final double MIN_MOVE_INTERVAL = 0.10;   // fastest allowed
+    private static final int FOODS_PER_LEVEL = 5;
+
+    // surprise flip: never for the first few foods, then a chance on every food
+    private static final int FLIP_MIN_FOODS = 3;
+    private static final double FLIP_CHANCE = 0.20;
+
+    private final int cols, rows;
+    private final boolean wrap;
+    private final Random rng;
+    private final CollisionHandler collider = new CollisionHandler();
+
+    private boolean[][] walls;
+    private Snake snake;
+    private Food food;
+
+    private int foodsEaten;
+    private double moveInterval;
+    private CollisionHandler.Result lastResult;
+    private boolean over;       // hit something or filled the board
+    private boolean boardFull;  // no free cell left for food
+    private boolean flipped;    // snake was reversed by the last step
+
+    public GameSimulation(int cols, int rows, long seed) {
+        this(cols, rows, false, new Random(seed));
+    }
+
+    public GameSimulation(int cols, int rows, boolean wrap, Random rng) {
+        this.cols = cols;
+        this.rows = rows;
+        this.wrap = wrap;
+        this.rng = rng;
+        reset();
+    }
+
+    /** Starts a new game: fresh snake, map and food, score back to zero. */
+    public void reset() {
+        snake = new Snake(cols, rows);
+        buildMapEasy();
+        ensureSafeStartDirection(); // fix snake direction once spawned
+        food = new Food(rng);
+        food.respawn(walls, snake, cols, rows);
+
+        foodsEaten = 0;
+        moveInterval = BASE_MOVE_INTERVAL;
+        lastResult = CollisionHandler.Result.NONE;
+        over = false;
+        boardFull = false;
+        flipped = false;
+    }
+
+    /**
+     * Moves the snake one cell and applies the outcome.
+     *
+     * @param dir requested direction, or null to keep going; ignored if it is a reversal
+     * @return what the head ran into; once the game is over the final result is returned again
+     */
+    public CollisionHandler.Result step(Snake.Direction dir) {
+        if (over) return lastResult;
+        flipped = false;
+
+        if (dir != null) snake.setDirection(dir);
+        snake.move();
+
+        CollisionHandler.Result r = collider.check(snake, food, walls, wrap, cols, rows);
+        switch (r) {
+            case ATE_FOOD:
+                snake.grow();
+                boolean placed = food.respawn(walls, snake, cols, rows);
+                foodsEaten++;
+                updateSpeedBasedOnLength();
+
+                if (!placed) {
+                    // snake fills the whole board - nothing left to eat, so the run is over
+                    boardFull = true;
+                    over = true;
+                    break;
+                }
+
+                maybeFlipSnake();    // <--- surprise event
+                break;
+
+            case HIT_SELF:
+            case HIT_WALL:
+                over = true;
+                break;
+            default: /* no-op */ }
+
+        lastResult = r;
+        return r;
+    }
+
+    public Snake getSnake() { return snake; }
+    public Food getFood() { return food; }
+    public boolean[][] getWalls() { return walls; }
+    public int getCols() { return cols; }
+    public int getRows() { return rows; }
+    public boolean isWrap() { return wrap; }
+
+    public int getFoodsEaten() { return foodsEaten; }
+
+    /** Seconds between moves at the current speed level. */
+    public double getMoveInterval() { return moveInterval; }
+
+    public boolean isOver() { return over; }
+    public boolean isBoardFull() { return boardFull; }
+
+    /** True if the last step triggered the surprise head/tail flip. */
+    public boolean wasFlipped() { return flipped; }
+
+    // --- simple environment presets (easy). Others can be added later.
+    private void buildMapEasy() {
+        walls = new boolean[cols][rows];
+        if (!wrap) {
+            for (int x = 0; x < cols; x++) { walls[x][0] = true; walls[x][rows - 1] = true; }
+            for (int y = 0; y < rows; y++) { walls[0][y] = true; walls[cols - 1][y] = true; }
+        }
+    }
+
+    // making sure the starting direction does NOT point into a wall
+    private void ensureSafeStartDirection() {
+        // current head position in grid coordinates
+        int x = snake.getHeadX();
+        int y = snake.getHeadY();
+
+        // try directions in a reasonable order: first one inside the board and not a wall will be used
+        if (isFreeCell(x + 1, y)) {
+            snake.setDirection(Snake.Direction.RIGHT);
+            return;
+        }
+        if (isFreeCell(x - 1, y)) {
+            snake.setDirection(Snake.Direction.LEFT);
+            return;
+        }
+        if (isFreeCell(x, y - 1)) {
+            snake.setDirection(Snake.Direction.UP);
+            return;
+        }
+        if (isFreeCell(x, y + 1)) {
+            snake.setDirection(Snake.Direction.DOWN);
+        }
+    }
+
+    // helper: is a given cell inside the board and not a wall?
+    private boolean isFreeCell(int x, int y) {
+        if (x < 0 || x >= cols || y < 0 || y >= rows) return false;
+        return !walls[x][y];
+    }
+
+    // adjusting speed of snake for every 5 foods eaten
+    private void updateSpeedBasedOnLength() {
+        int levels = foodsEaten / FOODS_PER_LEVEL;      // 0,1,2,3,...
+        moveInterval = Math.max(MIN_MOVE_INTERVAL, BASE_MOVE_INTERVAL - levels * LEVEL_SPEEDUP);
+    }
+
+    private void maybeFlipSnake() {
+        // not to flip for the first 2 foods
+        if (foodsEaten < FLIP_MIN_FOODS) {
+            return;
+        }
+
+        if (rng.nextDouble() < FLIP_CHANCE) {
+            snake.reverse();   // flip head and tail
+            flipped = true;
+        }
+    }
+}
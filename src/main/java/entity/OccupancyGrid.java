@@ -0,0 +1,90 @@
+package entity;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * One bit per board cell (cols x rows), packed into longs.
+ * Cells outside the board are never marked.
+ *
+ * Also keeps an index of the free cells (not marked and not a wall) once
+ * {@link #randomFreeCell} has been asked for one, so food can be placed in O(1).
+ */
+public final class OccupancyGrid {
+
+    private final int cols, rows;
+    private final long[] bits;
+
+    // built lazily on the first food spawn; the walls array is treated as fixed
+    // once handed in, so a new map has to come with a new array
+    private FreeCellIndex free;
+    private boolean[][] freeWalls;
+
+    public OccupancyGrid(int cols, int rows) {
+        if (cols <= 0 || rows <= 0) throw new IllegalArgumentException("Board must be at least 1x1: " + cols + "x" + rows);
+        this.cols = cols;
+        this.rows = rows;
+        this.bits = new long[(int) (((long) cols * rows + 63) >>> 6)];
+    }
+
+    public int getCols() { return cols; }
+    public int getRows() { return rows; }
+
+    public boolean inBounds(int x, int y) {
+        return x >= 0 && x < cols && y >= 0 && y < rows;
+    }
+
+    /** True if (x, y) is on the board and marked. */
+    public boolean get(int x, int y) {
+        if (!inBounds(x, y)) return false;
+        int i = index(x, y);
+        return (bits[i >>> 6] & (1L << i)) != 0;
+    }
+
+    public void set(int x, int y) {
+        if (!inBounds(x, y)) return;
+        int i = index(x, y);
+        bits[i >>> 6] |= 1L << i;
+        if (free != null) free.remove(i);
+    }
+
+    public void clear(int x, int y) {
+        if (!inBounds(x, y)) return;
+        int i = index(x, y);
+        bits[i >>> 6] &= ~(1L << i);
+        if (free != null && (freeWalls == null || !freeWalls[x][y])) free.add(i);
+    }
+
+    public void clearAll() {
+        Arrays.fill(bits, 0L);
+        free = null; // rebuilt on the next spawn
+    }
+
+    /**
+     * Picks a uniformly random cell that is neither marked nor a wall.
+     *
+     * @return the cell as y * cols + x, or -1 if the board is full
+     */
+    public int randomFreeCell(boolean[][] walls, Random rng) {
+        if (free == null || walls != freeWalls) buildFreeIndex(walls);
+        return free.pick(rng);
+    }
+
+    private void buildFreeIndex(boolean[][] walls) {
+        if (free == null) free = new FreeCellIndex(cols * rows);
+        else for (int i = 0; i < cols * rows; i++) free.remove(i);
+        freeWalls = walls;
+
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < cols; x++) {
+                if (walls != null && walls[x][y]) continue;
+                int i = index(x, y);
+                if ((bits[i >>> 6] & (1L << i)) == 0) free.add(i);
+            }
+        }
+    }
+
+    private int index(int x, int y) {
+        return y * cols + x;
+    }
+}
@@ -5,22 +5,40 @@ public class Segment {
     private int x;
     private int y;
 
+    // when a segment is handed out by a Snake it is a view onto one slot of the
+    // snake's cell buffer instead of owning its own coordinates; such a view is only
+    // valid until the snake next moves, grows or reverses (the slot then holds another segment)
+    private final Snake owner;
+    private final int slot;
+
 
     public Segment(int x, int y){
         this.x = x;
         this.y = y;
+        this.owner = null;
+        this.slot = -1;
+    }
+
+    Segment(Snake owner, int slot){
+        this.owner = owner;
+        this.slot = slot;
     }
 
     public void set_Position(int x, int y){
+        if (owner != null) {
+            if (owner.isHeadSlot(slot)) owner.setHead(x, y);   // no grid rebuild for the head
+            else owner.setSlot(slot, x, y);
+            return;
+        }
         this.x = x;
         this.y = y;
     }
 
     public int getX(){
-        return x;
+        return owner != null ? Cells.x(owner.slotCell(slot)) : x;
     }
 
     public int getY(){
-        return y;
+        return owner != null ? Cells.y(owner.slotCell(slot)) : y;
     }
 }
@@ -1,33 +1,128 @@
 // in entity/Snake.java
 package entity;
 
-import java.awt.Graphics;
-import java.util.ArrayList;
+import java.util.AbstractList;
 import java.util.List;
-import java.util.Collections;
 
 public class Snake {
     public enum Direction { UP, DOWN, LEFT, RIGHT }
 
-    private final List<Segment> segments = new ArrayList<>();
+    /** Receives segments one by one, head first, without any Segment objects being created. */
+    public interface SegmentVisitor {
+        void visit(int index, int x, int y);
+    }
+
+    private static final int INITIAL_CAPACITY = 16; // must be a power of two
+
+    // board used when none is given (the default 864x624 window in 48px tiles)
+    public static final int DEFAULT_COLS = 18, DEFAULT_ROWS = 13;
+
+    // body cells live in a ring buffer of packed (x, y) longs: the occupied window is
+    // [first, first + length) and 'reversed' says which end of it is the head.
+    // move = push head + pop tail, grow = push a copy of the tail, reverse = flip the flag
+    private long[] cells = new long[INITIAL_CAPACITY];
+    private int first = 0;
+    private int length = 0;
+    private boolean reversed = false;
+
+    // one bit per board cell that holds at least one segment
+    private OccupancyGrid grid;
+    private boolean headOnBody = false;   // head shares its cell with another segment
+    private boolean overlapping = false;  // segments other than grow copies share cells
+
     private Direction direction = Direction.RIGHT;
+    private final List<Segment> body = new BodyView();
 
-    public Snake() { initializeSnake(); }
+    // bumped by move() / reverse() so renderers can tell what changed since they last looked
+    private long moveCount = 0;
+    private long reverseCount = 0;
+    private long vacated;                 // cell the tail left on the last move, packed
+
+    public Snake() { this(DEFAULT_COLS, DEFAULT_ROWS); }
+
+    public Snake(int cols, int rows) {
+        grid = new OccupancyGrid(cols, rows);
+        initializeSnake();
+    }
 
     public void initializeSnake() {
         direction = Direction.RIGHT;
-        segments.clear();
-        segments.add(new Segment(1,3));
-        segments.add(new Segment(1,2));
-        segments.add(new Segment(1,1));
+        first = 0;
+        length = 0;
+        reversed = false;
+        grid.clearAll();
+        headOnBody = false;
+        overlapping = false;
+        moveCount = 0;
+        reverseCount = 0;
+        pushTail(Cells.pack(1,3));
+        pushTail(Cells.pack(1,2));
+        pushTail(Cells.pack(1,1));
+        vacated = Cells.pack(1,1);
     }
 
-    public Segment getHead() { return segments.get(0); }
-    public List<Segment> getBody() { return segments.subList(1, segments.size()); }
+    // Segment views are handy but allocate; per-tick code should use the accessors below.
+    // A view is only valid until the snake next changes (move, grow, reverse, setHead)
+    public Segment getHead() { return new Segment(this, slotOf(0)); }
+    public List<Segment> getBody() { return body; }
+
+    // ---- allocation-free access, index 0 is the head ----
+    public int length() { return length; }
+    public long cellAt(int i) { return cells[slotOf(i)]; }   // packed, see Cells
+    public int xAt(int i) { return Cells.x(cells[slotOf(i)]); }
+    public int yAt(int i) { return Cells.y(cells[slotOf(i)]); }
+    public int getHeadX() { return xAt(0); }
+    public int getHeadY() { return yAt(0); }
+
+    /** Copies the body into dst (at least length() long), head first like cellAt. */
+    public void copyCells(long[] dst) {
+        if (reversed) {
+            for (int i = 0; i < length; i++) dst[i] = cells[slotOf(i)];
+            return;
+        }
+        // the occupied window may wrap around the end of the buffer: at most two runs
+        int run = Math.min(length, cells.length - first);
+        System.arraycopy(cells, first, dst, 0, run);
+        System.arraycopy(cells, 0, dst, run, length - run);
+    }
+
+    public void forEachSegment(SegmentVisitor visitor) {
+        for (int i = 0; i < length; i++) {
+            long c = cells[slotOf(i)];
+            visitor.visit(i, Cells.x(c), Cells.y(c));
+        }
+    }
+
+    /**
+     * Puts the head on (x, y), e.g. wrapping it round the board edge. Constant time when the
+     * head comes from off the board (a wrap) or the snake doesn't overlap itself; otherwise
+     * the old cell may still hold another segment and the body is counted.
+     */
+    public void setHead(int x, int y) {
+        int slot = slotOf(0);
+        long old = cells[slot];
+        long c = Cells.pack(x, y);
+        if (old == c) return;
+
+        cells[slot] = c;
+        boolean oldTaken = grid.inBounds(Cells.x(old), Cells.y(old))
+                && (headOnBody || overlapping) && countAt(old, length) > 0;
+        if (!oldTaken) grid.clear(Cells.x(old), Cells.y(old));
+
+        // the grid bit is other segments only now; off the board only the head can be there
+        headOnBody = grid.inBounds(x, y) ? grid.get(x, y) : countAt(c, length) > 1;
+        if (headOnBody) overlapping = true;
+        grid.set(x, y);
+    }
 
     public boolean occupies(int x, int y) {
-        for (Segment s : segments) if (s.getX()==x && s.getY()==y) return true;
-        return false;
+        if (grid.inBounds(x, y)) return grid.get(x, y);
+        return countAt(Cells.pack(x, y), length) > 0; // off the board: only a stray head can be here
+    }
+
+    /** True if the head sits on a cell also taken by the rest of the body. */
+    public boolean isHeadOnBody() {
+        return headOnBody;
     }
 
     public void setDirection(Direction newDir) {
@@ -39,29 +134,23 @@ public class Snake {
     }
 
     public void move() {
-        int headX = segments.get(0).getX();
-        int headY = segments.get(0).getY();
+        long head = cells[slotOf(0)];
+        int headX = Cells.x(head);
+        int headY = Cells.y(head);
         switch (direction) {
             case UP:    headY--; break;
             case DOWN:  headY++; break;
             case LEFT:  headX--; break;
             case RIGHT: headX++; break;
         }
-        for (int i = segments.size()-1; i>0; i--) {
-            segments.get(i).set_Position(segments.get(i-1).getX(), segments.get(i-1).getY());
-        }
-        segments.get(0).set_Position(headX, headY);
+        popTail();
+        pushHead(Cells.pack(headX, headY));
+        moveCount++;
     }
 
     public void grow() {
-        Segment tail = segments.get(segments.size()-1);
-        segments.add(new Segment(tail.getX(), tail.getY()));
-    }
-
-    public void rendering(Graphics g, int unitSize) {
-        for (Segment s : segments) {
-            g.fillOval(s.getX()*unitSize, s.getY()*unitSize, unitSize, unitSize);
-        }
+        // the copy sits on the tail cell until the next move leaves it behind
+        pushTail(cells[slotOf(length-1)]);
     }
 
     // for body of snake to be oriented right
@@ -69,19 +158,26 @@ public class Snake {
         return direction;
     }
 
+    public long getMoveCount() { return moveCount; }
+    public long getReverseCount() { return reverseCount; }
+
+    /** Cell (packed) the tail moved off on the last move; the tail cell itself if it grew. */
+    public long getVacatedCell() { return vacated; }
+
     public void reverse() {
         // nothing to do for length 0–1
-        if (segments.size() <= 1) return;
+        if (length <= 1) return;
 
-        // Reverse the order of the segment list so tail becomes head
-        Collections.reverse(segments);
+        // swap which end of the buffer is the head, so tail becomes head
+        reversed = !reversed;
+        reverseCount++;
 
         // After reversing, set the direction so the head will continue along the body rather than into it.
-        Segment head = segments.get(0);   // new head (old tail)
-        Segment neck = segments.get(1);   // second segment
+        long head = cells[slotOf(0)];   // new head (old tail)
+        long neck = cells[slotOf(1)];   // second segment
 
-        int dx = neck.getX() - head.getX();
-        int dy = neck.getY() - head.getY();
+        int dx = Cells.x(neck) - Cells.x(head);
+        int dy = Cells.y(neck) - Cells.y(head);
 
         if (dx == 1) {
             // neck is to the RIGHT of head, so we must move LEFT
@@ -98,7 +194,119 @@ public class Snake {
         }
     }
 
+    // occupancy grid for a cols x rows board, re-laid out if the snake was built for another size
+    OccupancyGrid board(int cols, int rows) {
+        if (grid.getCols() != cols || grid.getRows() != rows) {
+            grid = new OccupancyGrid(cols, rows);
+            rebuildGrid();
+        }
+        return grid;
+    }
+
+    // ---------------- ring buffer ----------------
+
+    // physical buffer slot of the i-th segment counted from the head
+    private int slotOf(int i) {
+        int offset = reversed ? length - 1 - i : i;
+        return (first + offset) & (cells.length - 1);
+    }
+
+    long slotCell(int slot) {
+        return cells[slot];
+    }
+
+    boolean isHeadSlot(int slot) {
+        return slot == slotOf(0);
+    }
+
+    void setSlot(int slot, int x, int y) {
+        cells[slot] = Cells.pack(x, y);
+        rebuildGrid();
+    }
+
+    private void pushHead(long c) {
+        // off the board nothing is marked: the head either hit a wall or is about to be
+        // wrapped by setHead, which works headOnBody out again on the board
+        headOnBody = grid.get(Cells.x(c), Cells.y(c));
+        if (headOnBody) overlapping = true;
+        grid.set(Cells.x(c), Cells.y(c));
+        ensureCapacity();
+        if (reversed) {
+            cells[(first + length) & (cells.length - 1)] = c;
+        } else {
+            first = (first - 1) & (cells.length - 1);
+            cells[first] = c;
+        }
+        length++;
+    }
+
+    private void pushTail(long c) {
+        grid.set(Cells.x(c), Cells.y(c));
+        ensureCapacity();
+        if (reversed) {
+            first = (first - 1) & (cells.length - 1);
+            cells[first] = c;
+        } else {
+            cells[(first + length) & (cells.length - 1)] = c;
+        }
+        length++;
+    }
+
+    private void popTail() {
+        int slot = slotOf(length - 1);
+        long tail = cells[slot];
+        vacated = tail;
+        if (reversed) first = (first + 1) & (cells.length - 1);
+        length--;
+
+        // grow() leaves copies of the tail behind it, so the cell may still be taken;
+        // anything else sharing it only happens once the head has run into the body
+        boolean stillTaken = length > 0 && cells[slotOf(length - 1)] == tail;
+        if (!stillTaken && overlapping) stillTaken = countAt(tail, length) > 0;
+        if (!stillTaken) grid.clear(Cells.x(tail), Cells.y(tail));
+    }
+
+    // how many of the first n segments (from the head) sit on cell c
+    private int countAt(long c, int n) {
+        int count = 0;
+        for (int i = 0; i < n; i++) if (cells[slotOf(i)] == c) count++;
+        return count;
+    }
 
+    // re-mark every segment, used after a segment was moved by hand
+    private void rebuildGrid() {
+        grid.clearAll();
+        overlapping = false;
+        for (int i = length - 1; i >= 0; i--) {
+            long c = cells[slotOf(i)];
+            boolean taken = grid.get(Cells.x(c), Cells.y(c));
+            if (taken && (i == length - 1 || cells[slotOf(i + 1)] != c)) overlapping = true;
+            grid.set(Cells.x(c), Cells.y(c));
+        }
+        headOnBody = length > 1 && countAt(cells[slotOf(0)], length) > 1;
+    }
 
+    private void ensureCapacity() {
+        if (length < cells.length) return;
+        // unroll the window to the start of a buffer twice the size
+        long[] grown = new long[cells.length * 2];
+        int mask = cells.length - 1;
+        for (int i = 0; i < length; i++) grown[i] = cells[(first + i) & mask];
+        cells = grown;
+        first = 0;
+    }
 
+    // read-only list of every segment after the head
+    private final class BodyView extends AbstractList<Segment> {
+        @Override
+        public Segment get(int index) {
+            if (index < 0 || index >= length - 1) throw new IndexOutOfBoundsException("Index: " + index);
+            return new Segment(Snake.this, slotOf(index + 1));
+        }
+
+        @Override
+        public int size() {
+            return length - 1;
+        }
+    }
 }
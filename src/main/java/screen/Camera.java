@@ -0,0 +1,37 @@
+package screen;
+
+/**
+ * Window onto a board that can be larger than the screen: which tiles are visible
+ * and where the top-left one sits, kept centred on a followed cell.
+ */
+final class Camera {
+
+    private final int viewCols, viewRows; // tiles that fit on screen
+    private int x, y;                     // board cell at the top-left corner
+
+    Camera(int viewCols, int viewRows) {
+        this.viewCols = viewCols;
+        this.viewRows = viewRows;
+    }
+
+    /** Centres on (cx, cy), clamped so the view never leaves a cols x rows board. */
+    void follow(int cx, int cy, int cols, int rows) {
+        x = clamp(cx - viewCols / 2, cols - viewCols);
+        y = clamp(cy - viewRows / 2, rows - viewRows);
+    }
+
+    private static int clamp(int v, int max) {
+        if (v > max) v = max;
+        return Math.max(v, 0);
+    }
+
+    int getX() { return x; }
+    int getY() { return y; }
+    int getViewCols() { return viewCols; }
+    int getViewRows() { return viewRows; }
+
+    /** True if board cell (cx, cy) is on screen. */
+    boolean sees(int cx, int cy) {
+        return cx >= x && cx < x + viewCols && cy >= y && cy < y + viewRows;
+    }
+}
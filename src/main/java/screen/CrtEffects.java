@@ -0,0 +1,108 @@
+package screen;
+
+import engine.SpriteCache;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+/**
+ * The CRT glitch and screen shake, at a fixed cost per frame whatever the scene holds.
+ *
+ * The glitch is a small pool of full-screen overlays (scanlines plus noise), rendered once
+ * up front; each glitching frame blits one of them, picked by a cheap seeded PRNG. The
+ * shake draws the frame into an offscreen image once and blits that at a random offset.
+ * That image is made for the window, like the cached layers drawn into it, so starting
+ * or ending a shake never makes them rebuild.
+ */
+final class CrtEffects {
+
+    private static final int POOL_SIZE = 4;
+    private static final int LINES = 10;             // scanlines per overlay, 2px tall
+    private static final int NOISE_DOTS = 1200;      // noise pixels per overlay
+
+    private static final Color LINE = new Color(255, 255, 255, 50);
+    private static final AffineTransform IDENTITY = new AffineTransform();
+
+    private final int width, height;
+    private final BufferedImage[] overlays = new BufferedImage[POOL_SIZE];
+    private final LayerImage shakeFrame = new LayerImage();   // composed frame while shaking
+    private Graphics2D shakeGraphics;                // kept open, so shaking frames don't allocate one
+    private int lastOverlay;
+    private int seed;                                // xorshift state, never 0
+
+    CrtEffects(int width, int height, int seed) {
+        this.width = width;
+        this.height = height;
+        this.seed = seed != 0 ? seed : 1;
+        for (int i = 0; i < POOL_SIZE; i++) {
+            overlays[i] = renderOverlay();
+        }
+    }
+
+    /** Blits one glitch overlay over the whole frame, a different one than last frame. */
+    void drawGlitch(Graphics2D g) {
+        int i = nextInt(POOL_SIZE - 1);
+        if (i >= lastOverlay) i++;                   // skip the one shown last
+        lastOverlay = i;
+        g.drawImage(overlays[i], 0, 0, null);
+    }
+
+    /**
+     * Graphics to compose a shaking frame into, then call {@link #endShake}. Don't dispose it.
+     *
+     * @param gc the window's configuration, the one the frame ends up on
+     */
+    Graphics2D beginShake(GraphicsConfiguration gc) {
+        if (shakeFrame.validate(gc, width, height) || shakeGraphics == null) {
+            if (shakeGraphics != null) shakeGraphics.dispose();
+            shakeGraphics = shakeFrame.createGraphics();
+        }
+        // whatever the last frame left set
+        shakeGraphics.setTransform(IDENTITY);
+        shakeGraphics.setClip(null);
+        shakeGraphics.setComposite(AlphaComposite.SrcOver);
+        return shakeGraphics;
+    }
+
+    /** Blits the composed frame at a random offset of up to {@code strength} pixels. */
+    void endShake(Graphics2D g, int strength) {
+        int sx = nextInt(strength * 2 + 1) - strength;
+        int sy = nextInt(strength * 2 + 1) - strength;
+        g.drawImage(shakeFrame.get(), sx, sy, null);
+    }
+
+    private BufferedImage renderOverlay() {
+        BufferedImage img = SpriteCache.createCompatible(width, height, Transparency.TRANSLUCENT);
+        Graphics2D g = img.createGraphics();
+
+        g.setColor(LINE);
+        for (int i = 0; i < LINES; i++) {
+            g.fillRect(0, nextInt(height), width, 2);
+        }
+
+        // faint grey snow
+        for (int i = 0; i < NOISE_DOTS; i++) {
+            int v = 150 + nextInt(106);
+            g.setColor(new Color(v, v, v, 30 + nextInt(60)));
+            g.fillRect(nextInt(width), nextInt(height), 1, 1);
+        }
+
+        g.dispose();
+        return img;
+    }
+
+    // xorshift32, 0 <= result < bound
+    private int nextInt(int bound) {
+        int x = seed;
+        x ^= x << 13;
+        x ^= x >>> 17;
+        x ^= x << 5;
+        seed = x;
+        return (int) ((x & 0xffffffffL) % bound);
+    }
+}
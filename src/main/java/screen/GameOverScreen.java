@@ -8,19 +8,26 @@ import java.awt.*;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.geom.Rectangle2D;
-import engine.SpriteLoader;
+import engine.FontRegistry;
+import engine.SpriteCache;
 import java.awt.image.BufferedImage;
 import java.awt.RenderingHints;
 
 import java.awt.Font;
-import java.io.FileInputStream;
-import java.io.InputStream;
 import java.awt.geom.Rectangle2D;
 
 
 
 public class GameOverScreen implements Screen, MouseListener {
 
+    // colors used while rendering, so frames don't allocate them
+    private static final Color TITLE_SHADOW = new Color(0, 0, 0, 200);
+    private static final Color TITLE_COLOR  = new Color(230, 40, 40);
+    private static final Color BUTTON_FILL  = new Color(40, 40, 40, 220);
+    private static final Color BUTTON_EDGE  = new Color(20, 20, 20);
+    private static final Color BUTTON_INNER = new Color(130, 130, 130);
+    private static final Color BUTTON_LABEL = new Color(235, 235, 235);
+
     private final Core core;
     private final StateMachine states;
 
@@ -32,6 +39,9 @@ public class GameOverScreen implements Screen, MouseListener {
     private Font buttonFont;
     private BufferedImage stoneTile;
 
+    // text rasterized once, blitted every frame
+    private TextSprite titleText;     // "GAME OVER" with its glow shadow
+    private TextSprite retryLabel, menuLabel;
 
 
     public GameOverScreen(Core core, StateMachine states) { // constructor
@@ -39,17 +49,17 @@ public class GameOverScreen implements Screen, MouseListener {
         this.states = states;
         loadFonts();
         initButtons();
+        initText();
 
-        stoneTile = SpriteLoader.load("resources/sprites/button.png");
-        gameOverBackground = SpriteLoader.load("resources/backgrounds/end.jpg");
+        stoneTile = SpriteCache.get("resources/sprites/button.png", retryBtn.width, retryBtn.height);
+        gameOverBackground = SpriteCache.get("resources/backgrounds/end.jpg", Core.WIDTH, Core.HEIGHT);
     }
 
     private void loadFonts() {
-        try (InputStream in = new FileInputStream("resources/fonts/alagard.ttf")) {
-            Font base = Font.createFont(Font.TRUETYPE_FONT, in);
-            titleFont  = base.deriveFont(Font.BOLD, 80f);  // "GAME OVER"
-            buttonFont = base.deriveFont(Font.PLAIN, 26f); // buttons
-        } catch (Exception e) {
+        try {
+            titleFont  = FontRegistry.get(FontRegistry.ALAGARD, Font.BOLD, 80f);  // "GAME OVER"
+            buttonFont = FontRegistry.get(FontRegistry.ALAGARD, Font.PLAIN, 26f); // buttons
+        } catch (RuntimeException e) {
             titleFont  = new Font("Arial", Font.BOLD, 80);
             buttonFont = new Font("Arial", Font.PLAIN, 26);
         }
@@ -66,6 +76,19 @@ public class GameOverScreen implements Screen, MouseListener {
         menuBtn  = new Rectangle(centerX, firstY + 70, btnWidth, btnHeight);
     }
 
+    private void initText() {
+        titleText = new TextSprite(titleFont, TITLE_COLOR, TITLE_SHADOW, -3, 3);
+        titleText.setText("GAME OVER");
+        retryLabel = label("Play Again");
+        menuLabel = label("Main Menu");
+    }
+
+    private TextSprite label(String text) {
+        TextSprite t = new TextSprite(buttonFont, BUTTON_LABEL, null);
+        t.setText(text);
+        return t;
+    }
+
     @Override
     public void onEnter() {
         core.addMouseListener(this);
@@ -84,6 +107,11 @@ public class GameOverScreen implements Screen, MouseListener {
     public void update(double dt) { // no per-frame logic for now
     }
 
+    @Override
+    public boolean isStatic() {
+        return true; // only changes on clicks and transitions, Core re-presents the last frame
+    }
+
     @Override
     public void render(Graphics2D g) {
         // keep pixel art crisp
@@ -94,62 +122,47 @@ public class GameOverScreen implements Screen, MouseListener {
 
         // background image
         if (gameOverBackground != null) {
-            g.drawImage(gameOverBackground, 0, 0, Core.WIDTH, Core.HEIGHT, null);
+            g.drawImage(gameOverBackground, 0, 0, null);
         } else {
             g.setColor(Color.BLACK);
             g.fillRect(0, 0, Core.WIDTH, Core.HEIGHT);
         }
 
         // ----- GAME OVER title -----
-        String text = "GAME OVER";
-        g.setFont(titleFont);
-        FontMetrics fm = g.getFontMetrics();
-        int x = (Core.WIDTH - fm.stringWidth(text)) / 2;
+        int x = (Core.WIDTH - titleText.getWidth()) / 2;
         int y = 150;
 
-        // glow shadow
-        g.setColor(new Color(0, 0, 0, 200));
-        g.drawString(text, x - 3, y + 3);
-
-        // main red text
-        g.setColor(new Color(230, 40, 40));
-        g.drawString(text, x, y);
+        // main red text over its glow shadow
+        titleText.draw(g, x, y);
 
 
-        drawButton(g, retryBtn, "Play Again");
-        drawButton(g, menuBtn, "Main Menu");
+        drawButton(g, retryBtn, retryLabel);
+        drawButton(g, menuBtn, menuLabel);
     }
 
-    private void drawButton(Graphics2D g, Rectangle rect, String text) {
+    private void drawButton(Graphics2D g, Rectangle rect, TextSprite label) {
 
-        // draw stone tile background
+        // draw stone tile background (pre-scaled to the button size)
         if (stoneTile != null) {
-            g.drawImage(stoneTile,
-                    rect.x, rect.y,
-                    rect.x + rect.width, rect.y + rect.height,
-                    0, 0, stoneTile.getWidth(), stoneTile.getHeight(),
-                    null);
+            g.drawImage(stoneTile, rect.x, rect.y, null);
         } else {
-            g.setColor(new Color(40, 40, 40, 220));
+            g.setColor(BUTTON_FILL);
             g.fill(rect);
         }
 
         // dark outer border
-        g.setColor(new Color(20, 20, 20));
+        g.setColor(BUTTON_EDGE);
         g.drawRect(rect.x, rect.y, rect.width, rect.height);
 
         // light inner highlight border
-        g.setColor(new Color(130, 130, 130));
+        g.setColor(BUTTON_INNER);
         g.drawRect(rect.x + 2, rect.y + 2, rect.width - 4, rect.height - 4);
 
         // button text
-        g.setFont(buttonFont);
-        g.setColor(new Color(235, 235, 235)); // off-white
-        FontMetrics fm = g.getFontMetrics();
-        int tx = rect.x + (rect.width - fm.stringWidth(text)) / 2;
-        int ty = rect.y + (rect.height + fm.getAscent()) / 2 - 3;
+        int tx = rect.x + (rect.width - label.getWidth()) / 2;
+        int ty = rect.y + (rect.height + label.getAscent()) / 2 - 3;
 
-        g.drawString(text, tx, ty);
+        label.draw(g, tx, ty);
     }
 
 
@@ -5,18 +5,21 @@ import engine.GameStates;
 import engine.StateMachine;
 import engine.InputManager;
 import engine.FileManager;
+import engine.FontRegistry;
+import engine.InputLatency;
+import engine.LatencyHistogram;
+import engine.Metrics;
 import entity.*;
 import engine.SoundManager; // <-- added this for sound
 import javax.swing.SwingUtilities;
 import javax.swing.JOptionPane;
-import engine.SpriteLoader;
+import engine.SpriteCache;
+import engine.TripleBuffer;
 import java.awt.image.BufferedImage;
 import java.awt.RenderingHints;
-import java.util.List;
+import java.util.Random;
 
 import java.awt.Font;
-import java.io.FileInputStream;
-import java.io.InputStream;
 
 import java.awt.*;
 
@@ -29,27 +32,62 @@ public class GameScreen implements Screen { // implementing screen base
     private final FileManager fileManager;
 
     // sprite graphics
-    private BufferedImage headUp;
-    private BufferedImage headDown;
-    private BufferedImage headLeft;
-    private BufferedImage headRight;
-    private BufferedImage bodyH;    // horizontal neck
-    private BufferedImage bodyV;    // vertical neck
-    private BufferedImage foodSprite;
+    private SnakeSprites sprites;   // snake + food
     private BufferedImage backgroundSprite;
     private BufferedImage wallSprite;
     private Font hudFont;
+    private TextSprite hudText;             // "Foods: N", re-rasterized when N changes
+    private TextSprite flipText;            // "THE SNAKE REVERSED!"
+    private TextSprite pauseText;           // "PAUSED"
+    private int hudFoods = -1;              // value hudText currently shows
+
+    // colors used while rendering, so frames don't allocate them
+    private static final Color HUD_BAR = new Color(0, 0, 0, 190);
+    private static final Color HUD_TEXT = new Color(120, 255, 120);
+    private static final Color FLIP_DIM = new Color(0, 0, 0, 150);
+    private static final Color PAUSE_DIM = new Color(0, 0, 0, 160);
+    private static final Color PAUSE_TEXT = new Color(235, 235, 235);
+
+    // translucent overlays as images - a translucent fillRect allocates on every call
+    private BufferedImage hudBar;
+    private BufferedImage flipDim;
+    private BufferedImage pauseDim;
+
+    // CRT glitch overlays and shake, pre-rendered; fixed seed so runs look the same
+    private CrtEffects effects;
+    private static final int EFFECTS_SEED = 0x5EED;
 
     private final int unit = 48;
-    private final int cols = Core.WIDTH / unit;
-    private final int rows = Core.HEIGHT / unit;
+    private static final int MIN_BOARD = 6;   // room for the border walls and the starting snake
+
+    // board size comes from the settings / command line and may be larger than the window;
+    // the camera picks the part of it that is drawn
+    private final int cols;
+    private final int rows;
+    private final Camera camera = new Camera(Core.WIDTH / unit, Core.HEIGHT / unit);
+    private final MapLayer mapLayer = new MapLayer(unit);
+    private TrailLayer trailLayer;          // map + snake + food, patched per move
+    private final boolean incrementalRender;
+    private final boolean interpolateRender; // head and tail slide between cells
+
+    // turn latency, key to screen (see InputLatency); the overlay is null unless asked for
+    private final InputLatency latency;
+    private final LatencyOverlay latencyOverlay;
+    private long turnKeyNanos, turnTickNanos;   // the last turn: key pressed, step that applied it
+    private final LatencyHistogram stepTime = Metrics.histogram(Metrics.STEP);
 
     private final  boolean wrap = false; // set false for border walls
-    private boolean[][] walls;             // environment grid
-    private final CollisionHandler collider = new CollisionHandler();
 
+    // game rules (snake, food, walls, collisions) - this screen adds timing, sound and effects
+    private final GameSimulation sim;
     private Snake snake;
     private Food food;
+    private boolean[][] walls;             // environment grid
+
+    // the sim thread publishes a copy of the game after every tick, the render thread draws
+    // the newest one - it never reads the live snake/food/timers above
+    private final TripleBuffer<GameSnapshot> frames = new TripleBuffer<>(GameSnapshot::new);
+    private volatile int game;             // bumped per new game, so stale frames aren't drawn
 
     // --- Screen Shake ---
     private double shakeTime = 0.0;
@@ -77,16 +115,8 @@ public class GameScreen implements Screen { // implementing screen base
     // sound manager instance
     private SoundManager soundManager;
 
-    // SCORE VARIABLES
-    private int foodsEaten;
-
     // movement timing – controls snake speed
     private double moveAccumulator = 0.0;
-    private double moveInterval = 0.25; // seconds between moves at start (slower)
-
-    private void updateScore() {
-        foodsEaten++; // counting the score
-    }
 
     public GameScreen(Core core, StateMachine states, InputManager input, FileManager fileManager,SoundManager soundManager) {
         this.core = core; // stores reference
@@ -95,6 +125,15 @@ public class GameScreen implements Screen { // implementing screen base
         this.fileManager = fileManager;
         this.soundManager = soundManager; // initialize sound manager
 
+        this.cols = Math.max(MIN_BOARD, fileManager.getIntSetting("board_cols", Core.WIDTH / unit));
+        this.rows = Math.max(MIN_BOARD, fileManager.getIntSetting("board_rows", Core.HEIGHT / unit));
+        this.sim = new GameSimulation(cols, rows, wrap, new Random());
+        this.incrementalRender = Boolean.parseBoolean(fileManager.getSetting("incremental_render", "true"));
+        this.interpolateRender = Boolean.parseBoolean(fileManager.getSetting("interpolate_render", "false"));
+        this.latency = core.getLatency();
+        this.latencyOverlay = Boolean.parseBoolean(fileManager.getSetting("latency_overlay", "false"))
+                ? new LatencyOverlay(latency) : null;
+
         // ensure effect timers / flags are reset
         this.shakeTime = 0.0;
         this.glitchTime = 0.0;
@@ -103,6 +142,12 @@ public class GameScreen implements Screen { // implementing screen base
         // load graphics
         loadFonts();
         loadSprites();
+        trailLayer = new TrailLayer(unit, mapLayer, sprites);
+    }
+
+    /** The game rules behind this screen, e.g. for benchmarks that lay out a snake directly. */
+    public GameSimulation getSimulation() {
+        return sim;
     }
 
     private void resetGame() {
@@ -118,12 +163,13 @@ public class GameScreen implements Screen { // implementing screen base
         blackoutTime = 0.0;
         nextBlackoutTimer = 6.0 + Math.random() * 6.0;
 
-        foodsEaten = 0; // Reset the counter when game starts
         moveAccumulator = 0.0; // reset movement timer
-        moveInterval = 0.25;   // reset to base speed
     }
     private void saveScore() {
-        final int finalScore = foodsEaten;
+        final int finalScore = sim.getFoodsEaten();
+        if (GraphicsEnvironment.isHeadless()) {
+            return; // offscreen run (CI, benchmarks) - no player to ask for a name
+        }
 
         SwingUtilities.invokeLater(() -> {
             // This version handles the Object return properly
@@ -147,13 +193,13 @@ public class GameScreen implements Screen { // implementing screen base
     @Override
     public void onEnter() {
         input.reset();
-        snake = new Snake();
         soundManager.playBGM(); // start background music
-        buildMapEasy();
-        ensureSafeStartDirection(); // fix snake direction once spawned
-        food = new Food();
-        food.respawn(walls, snake, cols, rows);
-        resetGame();//reset score when game starts
+        sim.reset(); // new snake, map and food, score back to zero
+        snake = sim.getSnake();
+        food = sim.getFood();
+        walls = sim.getWalls();
+        game++; // the layers see the new map and game in the next frame and redraw
+        resetGame();//reset effect timers when game starts
     }
 
     public void onExit() {
@@ -169,7 +215,32 @@ public class GameScreen implements Screen { // implementing screen base
         blackoutTime = 0.0;
     }
 
+    @Override
+    public boolean isStatic() {
+        // while paused nothing moves - Core composites the paused frame once and reuses it
+        return states.is(GameStates.PAUSED);
+    }
+
     public void update(double dt) {
+        tick(dt);
+
+        // hand this tick's state to the renderer
+        GameSnapshot frame = frames.back();
+        frame.capture(game, sim);
+        frame.captureEffects(shakeTime, glitchTime, flipMessageTime, blackoutTime);
+        double moveInterval = sim.getMoveInterval();
+        boolean moving = !gameEnding && !states.is(GameStates.PAUSED);
+        frame.captureMotion(moveAccumulator / moveInterval, moving ? dt / moveInterval : 0);
+        frame.captureTurn(turnKeyNanos, turnTickNanos);
+        frames.publish();
+    }
+
+    private void tick(double dt) {
+        // P / ESC pauses and resumes (not once the run is over)
+        if (input.consumePauseToggled() && !gameEnding) {
+            core.togglePause();
+        }
+
         // flip warning fading out
         if (flipMessageTime > 0) {
             flipMessageTime -= dt;
@@ -224,33 +295,46 @@ public class GameScreen implements Screen { // implementing screen base
         if (snake == null || food == null || walls == null) return;
         if (states.is(GameStates.PAUSED)) return;
 
-        Snake.Direction nd = input.consumeDirectionChange();
-        if (nd != null) { snake.setDirection(nd); }
-
         // accumulate time and move only when enough time has passed
+        double moveInterval = sim.getMoveInterval();
         moveAccumulator += dt;
         if (moveAccumulator < moveInterval) {
             return; // not time to move yet
         }
         moveAccumulator -= moveInterval;
 
+        // one buffered turn per move, so quick double turns aren't lost
+        Snake.Direction nd = input.consumeDirectionChange(snake.getDirection());
+        if (nd != null) {
+            turnKeyNanos = input.getLastTurnNanos();
+            turnTickNanos = System.nanoTime();
+            latency.turnApplied(turnKeyNanos, turnTickNanos);
+        }
+
         // actually move the snake one cell
-        snake.move();
+        long stepStart = System.nanoTime();
+        CollisionHandler.Result r = sim.step(nd);
+        stepTime.record(System.nanoTime() - stepStart);
 
         soundManager.playMove(); // play movement sound
 
-        CollisionHandler.Result r =
-                collider.check(snake, food, walls, wrap, cols, rows);
-
         switch (r) {
             case ATE_FOOD:
                 soundManager.playEat();
-                snake.grow();
-                food.respawn(walls, snake, cols, rows);
-                updateScore();
-                updateSpeedBasedOnLength();
 
-                maybeFlipSnake();    // <--- surprise event
+                if (sim.isBoardFull()) {
+                    // snake fills the whole board - nothing left to eat, so the run is over
+                    soundManager.stopMove();
+                    soundManager.stopBGM();
+                    endGame();
+                    break;
+                }
+
+                if (sim.wasFlipped()) {              // <--- surprise event
+                    shakeTime = shakeDuration * 2.0;         // extra shake
+                    glitchTime = glitchDuration * 2.0;       // extra glitch
+                    flipMessageTime = 1.0;                   // show warning for 1 second
+                }
                 break;
 
 
@@ -262,22 +346,7 @@ public class GameScreen implements Screen { // implementing screen base
                 soundManager.stopBGM();    // stop music immediately on death
                 shakeTime = shakeDuration;   // start shake
                 glitchTime = glitchDuration; // start glitch
-                saveScore();
-
-                // prevent multiple transitions
-                if (!gameEnding) {
-                    gameEnding = true;
-
-                    // Delay the transition so the shake/glitch effect can be shown for a short moment
-                    new Thread(() -> {
-                        try {
-                            Thread.sleep(GAME_OVER_DELAY_MS); // milliseconds
-                        } catch (InterruptedException e) {
-                            // ignore
-                        }
-                        core.toGameOver();
-                    }).start();
-                }
+                endGame();
                 break;
             default: /* no-op */ }
 
@@ -293,18 +362,75 @@ public class GameScreen implements Screen { // implementing screen base
         }
     }
 
+    // save the score and go to the game over screen once the end effects had time to show
+    private void endGame() {
+        saveScore();
+
+        // prevent multiple transitions
+        if (!gameEnding) {
+            gameEnding = true;
+
+            // Delay the transition so the shake/glitch effect can be shown for a short moment
+            new Thread(() -> {
+                try {
+                    Thread.sleep(GAME_OVER_DELAY_MS); // milliseconds
+                } catch (InterruptedException e) {
+                    // ignore
+                }
+                core.toGameOver();
+            }).start();
+        }
+    }
+
     private void loadFonts() {
-        try (InputStream in = new FileInputStream("resources/fonts/alagard.ttf")) {
-            Font base = Font.createFont(Font.TRUETYPE_FONT, in);
-            hudFont = base.deriveFont(Font.PLAIN, 24f);   // tweak size if needed
-        } catch (Exception e) {
+        try {
+            hudFont = FontRegistry.get(FontRegistry.ALAGARD, Font.PLAIN, 24f);   // tweak size if needed
+        } catch (RuntimeException e) {
             hudFont = new Font("Arial", Font.BOLD, 18);
         }
+
+        // outline so it pops on any background; main color matching the green titles
+        hudText = new TextSprite(hudFont, HUD_TEXT, Color.BLACK);
+        flipText = new TextSprite(hudFont.deriveFont(36f), Color.RED, null);
+        flipText.setText("THE SNAKE REVERSED!");
+        pauseText = new TextSprite(hudFont.deriveFont(48f), PAUSE_TEXT, Color.BLACK);
+        pauseText.setText("PAUSED");
     }
 
     public void render(Graphics2D g) {
-        if (snake == null || food == null || walls == null) {
-            return; // prevent NPE during the first few frames
+        render(g, 0);
+    }
+
+    @Override
+    public void render(Graphics2D g, double alpha) {
+        GameSnapshot frame = frames.latest();
+        if (frame.getGame() != game) {
+            return; // the new game's first tick isn't published yet
+        }
+        latency.frameRendered(frame.getTurnKeyNanos(), frame.getTurnTickNanos(), System.nanoTime());
+
+        // --- Screen Shake ---
+        // the frame is composed offscreen once and blitted at a random offset
+        // layers are made for the window's configuration either way, so they survive a shake
+        GraphicsConfiguration gc = g.getDeviceConfiguration();
+        if (frame.getShakeTime() > 0) {
+            drawFrame(effects.beginShake(gc), gc, frame, alpha);
+            effects.endShake(g, shakeStrength);
+        } else {
+            drawFrame(g, gc, frame, alpha);
+        }
+
+        if (latencyOverlay != null) {
+            latencyOverlay.draw(g, 8, unit + 4);   // under the HUD bar, and not shaken
+        }
+    }
+
+    private void drawFrame(Graphics2D g, GraphicsConfiguration gc, GameSnapshot frame, double alpha) {
+        // --- full-screen blackout glitch (only while the flip warning shows) ---
+        if (frame.getFlipMessageTime() > 0 && frame.getBlackoutTime() > 0) {
+            g.setColor(Color.BLACK);
+            g.fillRect(0, 0, Core.WIDTH, Core.HEIGHT);
+            return; // nothing else is visible, so nothing else is drawn
         }
 
         // keep pixel art crisp
@@ -313,245 +439,87 @@ public class GameScreen implements Screen { // implementing screen base
                 RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR
         );
 
-        // --- Screen Shake ---
-        if (shakeTime > 0) {
-            int sx = (int)(Math.random() * shakeStrength * 2 - shakeStrength);
-            int sy = (int)(Math.random() * shakeStrength * 2 - shakeStrength);
-            g.translate(sx, sy);
-        }
-
         // background
         // base clear behind everything
         g.setColor(Color.BLACK);
         g.fillRect(0, 0, Core.WIDTH, Core.HEIGHT);
 
-        // tile backgroundSprite inside the wall border
-        if (backgroundSprite != null) {
-            for (int x = 1; x < cols - 1; x++) {          // skipping left/right border
-                for (int y = 1; y < rows - 1; y++) {      // skipping top/bottom border
-                    g.drawImage(
-                            backgroundSprite, x * unit, y * unit, unit, unit, null);
-                }
-            }
+        // world is drawn in board pixels, shifted so the camera's top-left tile lands at 0,0
+        camera.follow(frame.getHeadX(), frame.getHeadY(), cols, rows);
+        int camX = camera.getX() * unit;
+        int camY = camera.getY() * unit;
+        g.translate(-camX, -camY);
+
+        if (interpolateRender) {
+            // snake drawn between cells every frame, so it can't be baked into the trail layer
+            mapLayer.draw(g, gc, camera, frame.getWalls(), cols, rows, backgroundSprite, wallSprite);
+            sprites.drawInterpolated(g, camera.getX(), camera.getY(), camera.getViewCols(), camera.getViewRows(),
+                    frame, frame.getMoveProgress(alpha));
+        } else if (incrementalRender) {
+            // whole board from the trail layer, only the cells that changed get redrawn
+            trailLayer.draw(g, gc, camera, frame, cols, rows, backgroundSprite, wallSprite);
+        } else {
+            // background tiles + walls, cached offscreen and blitted in one go
+            mapLayer.draw(g, gc, camera, frame.getWalls(), cols, rows, backgroundSprite, wallSprite);
+            sprites.drawAll(g, camera, frame);
         }
 
-        // walls
-        if (walls != null) {
-            for (int x = 0; x < cols; x++) {
-                for (int y = 0; y < rows; y++) {
-                    if (walls[x][y]) {
-                        if (wallSprite != null) {
-                            g.drawImage(wallSprite, x * unit, y * unit, unit, unit, null);
-                        } else {
-                            g.setColor(new Color(40, 40, 40));
-                            g.fillRect(x * unit, y * unit, unit, unit);
-                        }
-                    }
-                }
-            }
-        }
+        g.translate(camX, camY);
 
         // --- HUD bar for Foods counter ---
         int hudHeight = unit;   // one tile tall
 
         // dark translucent strip across the top
-        g.setColor(new Color(0, 0, 0, 190));
-        g.fillRect(0, 0, Core.WIDTH, hudHeight);
+        g.drawImage(hudBar, 0, 0, null);
 
-        // prepare text
-        String hudText = "Foods: " + foodsEaten;
-        g.setFont(hudFont);
-        FontMetrics hfm = g.getFontMetrics();
+        // text is cached as an image and only re-rasterized when the count changes
+        int foods = frame.getFoodsEaten();
+        if (foods != hudFoods) {
+            hudText.setText("Foods: " + foods);
+            hudFoods = foods;
+        }
 
         // position (left side, vertically centred in the bar)
         int textX = 16;
-        int textY = (hudHeight + hfm.getAscent()) / 2 - 4;
-
-        // outline so it pops on any background
-        g.setColor(Color.BLACK);
-        g.drawString(hudText, textX - 1, textY);
-        g.drawString(hudText, textX + 1, textY);
-        g.drawString(hudText, textX,     textY - 1);
-        g.drawString(hudText, textX,     textY + 1);
-
-        // main color (matching your green titles)
-        g.setColor(new Color(120, 255, 120));
-        g.drawString(hudText, textX, textY);
-
-
-        // food
-        int fx = food.getX();
-        int fy = food.getY();
-        g.drawImage(foodSprite, fx * unit, fy * unit, unit, unit, null);
-
-        // snake as ghost + neck
-        List<Segment> body = snake.getBody();  // all segments except head
-        Segment head = snake.getHead();
-
-        // draw head
-        g.drawImage(getHeadSprite(), head.getX() * unit, head.getY() * unit, unit, unit, null);
-
-        // draw body segments (neck)
-        Segment prev = head;
-        for (Segment curr : body) {
-            BufferedImage bodySprite = getBodySpriteForSegment(prev, curr);
-            g.drawImage(bodySprite, curr.getX() * unit, curr.getY() * unit, unit, unit, null);
-            prev = curr;
-        }
+        int textY = (hudHeight + hudText.getAscent()) / 2 - 4;
+        hudText.draw(g, textX, textY);
 
         // --- CRT Glitch ---
-        if (glitchTime > 0) {
-            Composite old = g.getComposite();
-
-            for (int i = 0; i < 10; i++) {
-                int y = (int)(Math.random() * Core.HEIGHT);
-                g.setColor(new Color(255, 255, 255, 50));
-                g.fillRect(0, y, Core.WIDTH, 2);
-            }
-
-            g.setComposite(old);
+        // one pre-rendered scanline/noise overlay from the pool
+        if (frame.getGlitchTime() > 0) {
+            effects.drawGlitch(g);
         }
 
-        if (flipMessageTime > 0) {
+        if (frame.getFlipMessageTime() > 0) {
             // semi-transparent dark overlay
-            g.setColor(new Color(0, 0, 0, 150));
-            g.fillRect(0, 0, Core.WIDTH, Core.HEIGHT);
+            g.drawImage(flipDim, 0, 0, null);
 
             // warning text
-            g.setColor(Color.RED);
-            g.setFont(hudFont.deriveFont(36f));  // or a fixed Font if you prefer
-
-            String msg = "THE SNAKE REVERSED!";
-            FontMetrics fm = g.getFontMetrics();
-            int x = (Core.WIDTH  - fm.stringWidth(msg)) / 2;
-            int y = (Core.HEIGHT - fm.getHeight()) / 2 + fm.getAscent();
-
-            g.drawString(msg, x, y);
-
-            // --- full-screen blackout glitch ---
-            if (blackoutTime > 0) {
-                g.setColor(Color.BLACK);
-                g.fillRect(0, 0, Core.WIDTH, Core.HEIGHT);
-                // no text during blackout – if you want text, draw it here before return
-                return;
-            }
-        }
+            int x = (Core.WIDTH  - flipText.getWidth()) / 2;
+            int y = (Core.HEIGHT - flipText.getHeight()) / 2 + flipText.getAscent();
 
-
-    }
-
-    // --- simple environment presets (easy). Others can be added later.
-    private void buildMapEasy() {
-        walls = new boolean[cols][rows];
-        if (!wrap) {
-            for (int x = 0; x < cols; x++) { walls[x][0] = true; walls[x][rows - 1] = true; }
-            for (int y = 0; y < rows; y++) { walls[0][y] = true; walls[cols - 1][y] = true; }
+            flipText.draw(g, x, y);
         }
-    }
-
-    // making sure the starting direction does NOT point into a wall
-    private void ensureSafeStartDirection() {
-        if (snake == null || walls == null) return;
 
-        // current head position in grid coordinates
-        Segment head = snake.getHead();
-        int x = head.getX();
-        int y = head.getY();
-
-        // try directions in a reasonable order: first one inside the board and not a wall will be used
-        if (isFreeCell(x + 1, y)) {
-            snake.setDirection(Snake.Direction.RIGHT);
-            return;
-        }
-        if (isFreeCell(x - 1, y)) {
-            snake.setDirection(Snake.Direction.LEFT);
-            return;
-        }
-        if (isFreeCell(x, y - 1)) {
-            snake.setDirection(Snake.Direction.UP);
-            return;
+        if (states.is(GameStates.PAUSED)) {
+            // dim the frozen game and say so
+            g.drawImage(pauseDim, 0, 0, null);
+            int x = (Core.WIDTH  - pauseText.getWidth()) / 2;
+            int y = (Core.HEIGHT - pauseText.getHeight()) / 2 + pauseText.getAscent();
+            pauseText.draw(g, x, y);
         }
-        if (isFreeCell(x, y + 1)) {
-            snake.setDirection(Snake.Direction.DOWN);
-        }
-    }
-
-    // helper: is a given cell inside the board and not a wall?
-    private boolean isFreeCell(int x, int y) {
-        if (x < 0 || x >= cols || y < 0 || y >= rows) return false;
-        return !walls[x][y];
-    }
 
-    // adjusting speed of snake for every 5 foods eaten
-    private void updateSpeedBasedOnLength() {
-        // each 5 foods -> 1 level faster
-        int levels = foodsEaten / 5;      // 0,1,2,3,...
 
-        double baseInterval = 0.25;       // starting speed
-        double perLevelDecrease = 0.03;   // how much faster each level
-        double minInterval = 0.10;        // fastest allowed
-
-        double newInterval = baseInterval - levels * perLevelDecrease;
-        if (newInterval < minInterval) {
-            newInterval = minInterval;
-        }
-        moveInterval = newInterval;
     }
 
     private void loadSprites() {
-        headUp    = SpriteLoader.load("resources/sprites/upH.png");
-        headDown  = SpriteLoader.load("resources/sprites/downH.png");
-        headLeft  = SpriteLoader.load("resources/sprites/leftH.png");
-        headRight = SpriteLoader.load("resources/sprites/rightH.png");
-
-        bodyH     = SpriteLoader.load("resources/sprites/bodyH.png");
-        bodyV     = SpriteLoader.load("resources/sprites/bodyV.png");
-
-        foodSprite = SpriteLoader.load("resources/sprites/eye.png");
-        backgroundSprite = SpriteLoader.load("resources/sprites/wall2.png");
-        wallSprite = SpriteLoader.load("resources/sprites/wall.png");
-    }
-
-    private BufferedImage getHeadSprite() {
-        Snake.Direction dir = snake.getDirection();
-        switch (dir) {
-            case UP:    return headUp;
-            case DOWN:  return headDown;
-            case LEFT:  return headLeft;
-            case RIGHT:
-            default:    return headRight;
-        }
+        sprites = new SnakeSprites(unit);
+
+        hudBar     = SpriteCache.fill(HUD_BAR, Core.WIDTH, unit);
+        effects    = new CrtEffects(Core.WIDTH, Core.HEIGHT, EFFECTS_SEED);
+        flipDim    = SpriteCache.fill(FLIP_DIM, Core.WIDTH, Core.HEIGHT);
+        pauseDim   = SpriteCache.fill(PAUSE_DIM, Core.WIDTH, Core.HEIGHT);
+        backgroundSprite = SpriteCache.get("resources/sprites/wall2.png", unit);
+        wallSprite = SpriteCache.get("resources/sprites/wall.png", unit);
     }
-
-    private BufferedImage getBodySpriteForSegment(Segment prev, Segment curr) {
-        int dx = curr.getX() - prev.getX();
-        int dy = curr.getY() - prev.getY();
-
-        if (dx != 0) {
-            // moved left/right
-            return bodyH;
-        } else {
-            // moved up/down
-            return bodyV;
-        }
-    }
-
-    private void maybeFlipSnake() {
-        // not to flip for the first 2 foods
-        if (foodsEaten < 3) {
-            return;
-        }
-
-        // example: 20% chance each time you eat food
-        double flipChance = 0.20;
-
-        if (Math.random() < flipChance) {
-            snake.reverse();                         // flip head and tail
-            shakeTime = shakeDuration * 2.0;         // extra shake
-            glitchTime = glitchDuration * 2.0;       // extra glitch
-            flipMessageTime = 1.0;                   // show warning for 1 second
-        }
-    }
-
-
 }
@@ -0,0 +1,109 @@
+package screen;
+
+import entity.Cells;
+import entity.GameSimulation;
+import entity.Snake;
+
+/**
+ * Everything GameScreen needs to draw one frame, copied out of the simulation after each
+ * tick so the render thread never touches the live Snake/Food while the sim thread moves
+ * them. Handed over through a TripleBuffer; each instance is reused.
+ *
+ * The body is only re-copied when it changed since this instance last held it (a move,
+ * growth, reversal or new game), so the ticks between moves copy a few fields only.
+ */
+final class GameSnapshot {
+
+    // snake, index 0 is the head
+    private long[] cells = new long[16];
+    private int length;
+    private Snake.Direction direction;
+    private long moveCount = -1, reverseCount;
+    private long vacated;               // cell the tail left on the last move
+    private int game = -1;              // which game this is, bumped by every new game
+
+    // food, walls, score
+    private int foodX, foodY;
+    private boolean[][] walls;          // replaced, never modified, for a new map
+    private int foodsEaten;
+
+    // effect timers (seconds left)
+    private double shakeTime, glitchTime, flipMessageTime, blackoutTime;
+
+    // progress towards the next move, in moves: at this tick and gained per tick
+    private double moveProgress, progressPerTick;
+
+    // last turn: when its key was pressed and when a tick applied it (0 = none yet)
+    private long turnKeyNanos, turnTickNanos;
+
+    void capture(int game, GameSimulation sim) {
+        Snake snake = sim.getSnake();
+        if (game != this.game || snake.getMoveCount() != moveCount
+                || snake.getReverseCount() != reverseCount || snake.length() != length) {
+            if (cells.length < snake.length()) {
+                cells = new long[Math.max(snake.length(), cells.length * 2)];
+            }
+            snake.copyCells(cells);
+            length = snake.length();
+            moveCount = snake.getMoveCount();
+            reverseCount = snake.getReverseCount();
+            vacated = snake.getVacatedCell();
+            this.game = game;
+        }
+        direction = snake.getDirection();
+
+        foodX = sim.getFood().getX();
+        foodY = sim.getFood().getY();
+        walls = sim.getWalls();
+        foodsEaten = sim.getFoodsEaten();
+    }
+
+    void captureEffects(double shakeTime, double glitchTime, double flipMessageTime, double blackoutTime) {
+        this.shakeTime = shakeTime;
+        this.glitchTime = glitchTime;
+        this.flipMessageTime = flipMessageTime;
+        this.blackoutTime = blackoutTime;
+    }
+
+    void captureMotion(double moveProgress, double progressPerTick) {
+        this.moveProgress = moveProgress;
+        this.progressPerTick = progressPerTick;
+    }
+
+    void captureTurn(long keyNanos, long tickNanos) {
+        this.turnKeyNanos = keyNanos;
+        this.turnTickNanos = tickNanos;
+    }
+
+    int getGame() { return game; }
+
+    // same accessors as Snake, so renderers read a snapshot like the real thing
+    int length() { return length; }
+    long cellAt(int i) { return cells[i]; }
+    int xAt(int i) { return Cells.x(cells[i]); }
+    int yAt(int i) { return Cells.y(cells[i]); }
+    int getHeadX() { return xAt(0); }
+    int getHeadY() { return yAt(0); }
+    Snake.Direction getDirection() { return direction; }
+    long getMoveCount() { return moveCount; }
+    long getReverseCount() { return reverseCount; }
+    long getVacatedCell() { return vacated; }
+
+    /** How far (0..1) the snake is from its last move to the next, alpha ticks after this one. */
+    double getMoveProgress(double alpha) {
+        return Math.min(1.0, moveProgress + alpha * progressPerTick);
+    }
+
+    long getTurnKeyNanos() { return turnKeyNanos; }
+    long getTurnTickNanos() { return turnTickNanos; }
+
+    int getFoodX() { return foodX; }
+    int getFoodY() { return foodY; }
+    boolean[][] getWalls() { return walls; }
+    int getFoodsEaten() { return foodsEaten; }
+
+    double getShakeTime() { return shakeTime; }
+    double getGlitchTime() { return glitchTime; }
+    double getFlipMessageTime() { return flipMessageTime; }
+    double getBlackoutTime() { return blackoutTime; }
+}
@@ -4,15 +4,14 @@ import engine.Core;
 import engine.FileManager;
 import engine.StateMachine;
 import entity.Score;
-import engine.SpriteLoader;
+import engine.FontRegistry;
+import engine.SpriteCache;
 
 import java.awt.*;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
-import java.io.FileInputStream;
-import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -21,6 +20,23 @@ import java.util.List;
  */
 public class HighScoreScreen implements Screen, MouseListener {
 
+    private static final int MAX_LINES = 10;
+
+    // colors used while rendering, so frames don't allocate them
+    private static final Color PANEL_FILL   = new Color(0, 0, 0, 200);
+    private static final Color PANEL_BORDER = new Color(80, 80, 80);
+    private static final Color TITLE_COLOR  = new Color(122, 10, 35);
+    private static final Color BUTTON_FILL  = new Color(40, 40, 40, 220);
+    private static final Color BUTTON_EDGE  = new Color(20, 20, 20);
+    private static final Color BUTTON_INNER = new Color(130, 130, 130);
+    private static final Color BUTTON_LABEL = new Color(235, 235, 235);
+
+    // dark panel behind the scores so they’re readable
+    private static final int PANEL_X = 60;
+    private static final int PANEL_Y = 90;
+    private static final int PANEL_W = Core.WIDTH - 120;
+    private static final int PANEL_H = Core.HEIGHT - 220;
+
     private final Core core;  // used for mouse listener and navigation
     private final StateMachine states;
     private final FileManager fileManager;
@@ -38,23 +54,31 @@ public class HighScoreScreen implements Screen, MouseListener {
     // list of scores
     private List<Score> scores;
 
+    // everything below is rasterized once (or when the scores change) and blitted per frame
+    private BufferedImage panel;                 // translucent panel + border
+    private TextSprite titleText;
+    private TextSprite emptyText;                // "No scores yet!"
+    private TextSprite backLabel;
+    private final TextSprite[] lines = new TextSprite[MAX_LINES];
+    private int lineCount;
+
     public HighScoreScreen(Core core, StateMachine states, FileManager fileManager) {
         this.core = core;
         this.states = states;
         this.fileManager = fileManager;
 
         loadFonts();
-        loadAssets();
         initLayout(); // similar role to original initializeUI()
+        loadAssets();
+        initText();
     }
 
     private void loadFonts() {
-        try (InputStream in = new FileInputStream("resources/fonts/alagard.ttf")) {
-            Font base = Font.createFont(Font.TRUETYPE_FONT, in);
-            titleFont  = base.deriveFont(Font.BOLD, 72f);
-            listFont   = base.deriveFont(Font.PLAIN, 28f);
-            buttonFont = base.deriveFont(Font.PLAIN, 26f);
-        } catch (Exception e) {
+        try {
+            titleFont  = FontRegistry.get(FontRegistry.ALAGARD, Font.BOLD, 72f);
+            listFont   = FontRegistry.get(FontRegistry.ALAGARD, Font.PLAIN, 28f);
+            buttonFont = FontRegistry.get(FontRegistry.ALAGARD, Font.PLAIN, 26f);
+        } catch (RuntimeException e) {
             titleFont  = new Font("Arial", Font.BOLD, 72);
             listFont   = new Font("Arial", Font.PLAIN, 24);
             buttonFont = new Font("Arial", Font.PLAIN, 26);
@@ -63,9 +87,49 @@ public class HighScoreScreen implements Screen, MouseListener {
 
     private void loadAssets() {
         // reuse menu background
-        bgTile    = SpriteLoader.load("resources/sprites/wall2.png");
-        stoneTile  = SpriteLoader.load("resources/sprites/button.png");
+        bgTile    = SpriteCache.get("resources/sprites/wall2.png");
+        stoneTile  = SpriteCache.get("resources/sprites/button.png", backBtn.width, backBtn.height);
+        panel = buildPanel();
+    }
+
+    // the panel is translucent, and translucent fills allocate on every call - draw it once
+    private BufferedImage buildPanel() {
+        BufferedImage img = SpriteCache.createCompatible(PANEL_W + 1, PANEL_H + 1, Transparency.TRANSLUCENT);
+        Graphics2D g = img.createGraphics();
+        g.setColor(PANEL_FILL);
+        g.fillRoundRect(0, 0, PANEL_W, PANEL_H, 20, 20);
+
+        // border of the panel
+        g.setColor(PANEL_BORDER);
+        g.drawRoundRect(0, 0, PANEL_W, PANEL_H, 20, 20);
+        g.dispose();
+        return img;
+    }
+
+    private void initText() {
+        titleText = new TextSprite(titleFont, TITLE_COLOR, Color.BLACK, -2, 2);
+        titleText.setText("HIGH SCORES");
+        emptyText = new TextSprite(listFont, Color.WHITE, null);
+        emptyText.setText("No scores yet!");
+        backLabel = new TextSprite(buttonFont, BUTTON_LABEL, null);
+        backLabel.setText("Back to Menu");
+        for (int i = 0; i < MAX_LINES; i++) {
+            lines[i] = new TextSprite(listFont, Color.WHITE, Color.BLACK, 2, 2);
+        }
+    }
+
+    // formats the score lines once per refresh instead of once per frame
+    private void buildLines() {
+        lineCount = 0;
+        if (scores == null) return;
+        for (Score s : scores) {
+            if (lineCount >= MAX_LINES) break;
+            int rank = lineCount + 1;
+            lines[lineCount++].setText(String.format("%2d.  %-10s  %d foods",
+                    rank, s.getPlayerName(), s.getFoodsEaten()));
+        }
     }
+
     // sets up button position (instead of Swing layout)
     private void initLayout() {
         int btnWidth = 260;
@@ -79,6 +143,7 @@ public class HighScoreScreen implements Screen, MouseListener {
     public void onEnter() {
         // original behaviour: load scores when screen is shown
         scores = fileManager.getHighScores();
+        buildLines();
         core.addMouseListener(this);
         core.requestFocusInWindow();
     }
@@ -93,6 +158,11 @@ public class HighScoreScreen implements Screen, MouseListener {
         // no per-frame logic for now (static screen)
     }
 
+    @Override
+    public boolean isStatic() {
+        return true; // only changes on clicks and transitions, Core re-presents the last frame
+    }
+
     @Override
     public void render(Graphics2D g) {
         g.setRenderingHint(
@@ -115,93 +185,51 @@ public class HighScoreScreen implements Screen, MouseListener {
         }
 
         // dark panel behind the scores so they’re readable
-        int panelX = 60;
-        int panelY = 90;
-        int panelW = Core.WIDTH - 120;
-        int panelH = Core.HEIGHT - 220;
-
-        g.setColor(new Color(0, 0, 0, 200));
-        g.fillRoundRect(panelX, panelY, panelW, panelH, 20, 20);
-
-        // border of the panel
-        g.setColor(new Color(80, 80, 80));
-        g.drawRoundRect(panelX, panelY, panelW, panelH, 20, 20);
+        g.drawImage(panel, PANEL_X, PANEL_Y, null);
 
         // title
-        String title = "HIGH SCORES";
-        g.setFont(titleFont);
-        FontMetrics tfm = g.getFontMetrics();
-        int titleX = (Core.WIDTH - tfm.stringWidth(title)) / 2;
-        int titleY = panelY + 60;
-
-        g.setColor(Color.BLACK);
-        g.drawString(title, titleX - 2, titleY + 2);
-        g.setColor(new Color(122, 10, 35));
-        g.drawString(title, titleX, titleY);
+        int titleX = (Core.WIDTH - titleText.getWidth()) / 2;
+        int titleY = PANEL_Y + 60;
+        titleText.draw(g, titleX, titleY);
 
         // centered scores list
-        g.setFont(listFont);
-        FontMetrics lfm = g.getFontMetrics();
         int centerX = Core.WIDTH / 2;
         int startY = titleY + 40;
-        int lineH  = lfm.getHeight() + 4;
+        int lineH  = emptyText.getHeight() + 4;
 
-        if (scores == null || scores.isEmpty()) {
-            String msg = "No scores yet!";
-            int msgX = centerX - lfm.stringWidth(msg) / 2;
+        if (lineCount == 0) {
+            int msgX = centerX - emptyText.getWidth() / 2;
             int msgY = startY + lineH;
-            g.setColor(Color.WHITE);
-            g.drawString(msg, msgX, msgY);
+            emptyText.draw(g, msgX, msgY);
         } else {
-            int rank = 1;
-            for (Score s : scores) {
-                if (rank > 10) break;
-
-                String line = String.format("%2d.  %-10s  %d foods",
-                        rank, s.getPlayerName(), s.getFoodsEaten());
-
-                int lineWidth = lfm.stringWidth(line);
-                int x = centerX - lineWidth / 2;
-                int y = startY + (rank - 1) * lineH;
-
-                g.setColor(Color.BLACK);
-                g.drawString(line, x + 2, y + 2);
-                g.setColor(Color.WHITE);
-                g.drawString(line, x, y);
-
-                rank++;
+            for (int i = 0; i < lineCount; i++) {
+                TextSprite line = lines[i];
+                int x = centerX - line.getWidth() / 2;
+                int y = startY + i * lineH;
+                line.draw(g, x, y);
             }
         }
 
         // "Back to Menu" button (replaces JButton backButton)
-        drawButton(g, backBtn, "Back to Menu");
+        drawButton(g, backBtn, backLabel);
     }
 
-    private void drawButton(Graphics2D g, Rectangle rect, String text) {
+    private void drawButton(Graphics2D g, Rectangle rect, TextSprite label) {
         if (stoneTile != null) {
-            g.drawImage(
-                    stoneTile,
-                    rect.x, rect.y,
-                    rect.x + rect.width, rect.y + rect.height,
-                    0, 0, stoneTile.getWidth(), stoneTile.getHeight(),
-                    null
-            );
+            g.drawImage(stoneTile, rect.x, rect.y, null);   // pre-scaled to the button size
         } else {
-            g.setColor(new Color(40, 40, 40, 220));
+            g.setColor(BUTTON_FILL);
             g.fill(rect);
         }
 
-        g.setColor(new Color(20, 20, 20));
+        g.setColor(BUTTON_EDGE);
         g.drawRect(rect.x, rect.y, rect.width, rect.height);
-        g.setColor(new Color(130, 130, 130));
+        g.setColor(BUTTON_INNER);
         g.drawRect(rect.x + 2, rect.y + 2, rect.width - 4, rect.height - 4);
 
-        g.setFont(buttonFont);
-        g.setColor(new Color(235, 235, 235));
-        FontMetrics fm = g.getFontMetrics();
-        int tx = rect.x + (rect.width - fm.stringWidth(text)) / 2;
-        int ty = rect.y + (rect.height + fm.getAscent()) / 2 - 3;
-        g.drawString(text, tx, ty);
+        int tx = rect.x + (rect.width - label.getWidth()) / 2;
+        int ty = rect.y + (rect.height + label.getAscent()) / 2 - 3;
+        label.draw(g, tx, ty);
     }
 
     // MouseListener – replaces original JButton's ActionListener / backButton.getBackButton()
@@ -221,5 +249,6 @@ public class HighScoreScreen implements Screen, MouseListener {
      */
     public void refreshScores() {
         scores = fileManager.getHighScores();
+        buildLines();
     }
 }
@@ -0,0 +1,50 @@
+package screen;
+
+import engine.InputLatency;
+import engine.LatencyHistogram;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+
+/**
+ * Debug overlay with the turn latency stages (see InputLatency), one line each. The
+ * lines are re-rasterized twice a second, every other frame just blits them.
+ */
+final class LatencyOverlay {
+
+    private static final long REFRESH_NANOS = 500_000_000L;
+    private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+
+    private final LatencyHistogram[] stages;
+    private final TextSprite[] lines;
+    private long lastRefresh;
+
+    LatencyOverlay(InputLatency latency) {
+        stages = latency.getStages();
+        lines = new TextSprite[stages.length];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = new TextSprite(FONT, Color.WHITE, Color.BLACK);
+        }
+        refresh();
+    }
+
+    /** Draws the lines with the first baseline at (x, y). */
+    void draw(Graphics2D g, int x, int y) {
+        long now = System.nanoTime();
+        if (now - lastRefresh >= REFRESH_NANOS) {
+            lastRefresh = now;
+            refresh();
+        }
+        for (TextSprite line : lines) {
+            line.draw(g, x, y + line.getAscent());
+            y += line.getHeight();
+        }
+    }
+
+    private void refresh() {
+        for (int i = 0; i < lines.length; i++) {
+            lines[i].setText(stages[i].toString());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package screen;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.Image;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+
+/**
+ * An offscreen image for a cached render layer: an accelerated VolatileImage when drawing
+ * to the screen, a compatible BufferedImage otherwise (offscreen targets, headless).
+ */
+final class LayerImage {
+
+    private VolatileImage volatileImage;
+    private BufferedImage bufferedImage;
+    private int width, height;
+
+    /**
+     * Makes sure the image exists at w x h for the given target.
+     *
+     * @return true if the image is new or lost its contents and has to be repainted
+     */
+    boolean validate(GraphicsConfiguration gc, int w, int h) {
+        if (w != width || h != height) {
+            flush();
+            width = w;
+            height = h;
+        }
+
+        boolean accelerated = gc != null && gc.getDevice().getType() == GraphicsDevice.TYPE_RASTER_SCREEN;
+        if (!accelerated) {
+            if (volatileImage != null) flush();
+            if (bufferedImage != null) return false;
+            bufferedImage = gc != null
+                    ? gc.createCompatibleImage(w, h, Transparency.OPAQUE)
+                    : new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            return true;
+        }
+
+        bufferedImage = null;
+        int state = volatileImage == null ? VolatileImage.IMAGE_INCOMPATIBLE : volatileImage.validate(gc);
+        if (state == VolatileImage.IMAGE_INCOMPATIBLE) {
+            if (volatileImage != null) volatileImage.flush();
+            volatileImage = gc.createCompatibleVolatileImage(w, h, Transparency.OPAQUE);
+            return true;
+        }
+        return state == VolatileImage.IMAGE_RESTORED;
+    }
+
+    Image get() {
+        return volatileImage != null ? volatileImage : bufferedImage;
+    }
+
+    Graphics2D createGraphics() {
+        return volatileImage != null ? volatileImage.createGraphics() : bufferedImage.createGraphics();
+    }
+
+    /** True if an accelerated image lost its contents since the last validate. */
+    boolean contentsLost() {
+        return volatileImage != null && volatileImage.contentsLost();
+    }
+
+    void flush() {
+        if (volatileImage != null) volatileImage.flush();
+        volatileImage = null;
+        bufferedImage = null;
+    }
+}
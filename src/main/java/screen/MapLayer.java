@@ -0,0 +1,143 @@
+package screen;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+/**
+ * The parts of the board that never change during a game (background tiles and walls),
+ * rendered once into an offscreen image and then blitted with a single drawImage per frame.
+ *
+ * Uses an accelerated VolatileImage where possible and a BufferedImage otherwise (e.g.
+ * headless). Small boards are cached whole; big ones only around the camera, and the
+ * cached window is re-rendered when the camera leaves it. The layer also re-renders
+ * when the map changes (a new walls array) or the VolatileImage loses its contents.
+ */
+final class MapLayer {
+
+    private static final int MAX_LAYER_PX = 2048; // boards up to this size are cached whole
+    private static final Color WALL_FALLBACK = new Color(40, 40, 40);
+
+    private final int unit;
+    private final LayerImage image = new LayerImage();
+
+    private boolean[][] builtFor;         // walls the cached image shows
+    private int wx, wy, ww, wh;           // cached window of the board, in tiles
+    private int version;                  // bumped every time the image is re-rendered
+
+    MapLayer(int unit) {
+        this.unit = unit;
+    }
+
+    /** Drops the cached image, e.g. when the map was rebuilt in place. */
+    void invalidate() {
+        builtFor = null;
+    }
+
+    /**
+     * Draws the visible part of the map. {@code g} must already be translated to board
+     * pixels (board cell x is at x * unit); {@code gc} is the window's configuration, which
+     * the image is made for even when {@code g} draws into an offscreen frame.
+     */
+    void draw(Graphics2D g, GraphicsConfiguration gc, Camera camera, boolean[][] walls, int cols, int rows,
+              BufferedImage backgroundSprite, BufferedImage wallSprite) {
+        do {
+            prepare(gc, camera, walls, cols, rows, backgroundSprite, wallSprite);
+            g.drawImage(image.get(), wx * unit, wy * unit, null);
+        } while (image.contentsLost());
+    }
+
+    /** Makes sure the cached image is current for this camera and map, re-rendering it if not. */
+    void prepare(GraphicsConfiguration gc, Camera camera, boolean[][] walls, int cols, int rows,
+                 BufferedImage backgroundSprite, BufferedImage wallSprite) {
+        if (walls != builtFor || !windowCovers(camera)) {
+            placeWindow(camera, cols, rows);
+            image.flush();
+            builtFor = walls;
+        }
+        if (image.validate(gc, ww * unit, wh * unit)) {
+            paint(image.createGraphics(), walls, cols, rows, backgroundSprite, wallSprite);
+            version++;
+        }
+    }
+
+    /** Copies the map under board cell (cx, cy) into {@code g} (translated to board pixels). */
+    void copyCell(Graphics2D g, int cx, int cy) {
+        if (cx < wx || cy < wy || cx >= wx + ww || cy >= wy + wh) return;
+        int sx = (cx - wx) * unit, sy = (cy - wy) * unit;
+        g.drawImage(image.get(),
+                cx * unit, cy * unit, cx * unit + unit, cy * unit + unit,
+                sx, sy, sx + unit, sy + unit, null);
+    }
+
+    Image getImage() { return image.get(); }
+    boolean contentsLost() { return image.contentsLost(); }
+    int getVersion() { return version; }
+
+    // cached window of the board, in tiles
+    int getWindowX() { return wx; }
+    int getWindowY() { return wy; }
+    int getWindowCols() { return ww; }
+    int getWindowRows() { return wh; }
+
+    private boolean windowCovers(Camera camera) {
+        return camera.getX() >= wx && camera.getY() >= wy
+                && camera.getX() + camera.getViewCols() <= wx + ww
+                && camera.getY() + camera.getViewRows() <= wy + wh;
+    }
+
+    // whole board if it is small enough, otherwise the view plus half a view on every side
+    private void placeWindow(Camera camera, int cols, int rows) {
+        if ((long) cols * unit <= MAX_LAYER_PX && (long) rows * unit <= MAX_LAYER_PX) {
+            wx = 0; wy = 0; ww = cols; wh = rows;
+            return;
+        }
+        int mx = camera.getViewCols() / 2, my = camera.getViewRows() / 2;
+        wx = Math.max(0, camera.getX() - mx);
+        wy = Math.max(0, camera.getY() - my);
+        ww = Math.min(cols, camera.getX() + camera.getViewCols() + mx) - wx;
+        wh = Math.min(rows, camera.getY() + camera.getViewRows() + my) - wy;
+    }
+
+    private void paint(Graphics2D g, boolean[][] walls, int cols, int rows,
+                       BufferedImage backgroundSprite, BufferedImage wallSprite) {
+        // keep pixel art crisp
+        g.setRenderingHint(
+                RenderingHints.KEY_INTERPOLATION,
+                RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR
+        );
+        g.translate(-wx * unit, -wy * unit);
+
+        // base clear behind everything
+        g.setColor(Color.BLACK);
+        g.fillRect(wx * unit, wy * unit, ww * unit, wh * unit);
+
+        // tile backgroundSprite inside the wall border
+        if (backgroundSprite != null) {
+            for (int x = Math.max(1, wx); x < Math.min(cols - 1, wx + ww); x++) {      // skipping left/right border
+                for (int y = Math.max(1, wy); y < Math.min(rows - 1, wy + wh); y++) {  // skipping top/bottom border
+                    g.drawImage(backgroundSprite, x * unit, y * unit, unit, unit, null);
+                }
+            }
+        }
+
+        // walls
+        if (walls != null) {
+            for (int x = wx; x < wx + ww; x++) {
+                for (int y = wy; y < wy + wh; y++) {
+                    if (!walls[x][y]) continue;
+                    if (wallSprite != null) {
+                        g.drawImage(wallSprite, x * unit, y * unit, unit, unit, null);
+                    } else {
+                        g.setColor(WALL_FALLBACK);
+                        g.fillRect(x * unit, y * unit, unit, unit);
+                    }
+                }
+            }
+        }
+        g.dispose();
+    }
+}
@@ -9,17 +9,24 @@ import java.awt.*;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.geom.Rectangle2D;
-import engine.SpriteLoader;
+import engine.FontRegistry;
+import engine.SpriteCache;
 import java.awt.image.BufferedImage;
 
 import java.awt.Font;
-import java.io.FileInputStream;
-import java.io.InputStream;
 
 
 // menu implementation
 public class MenuScreen implements Screen, MouseListener {
 
+    // colors used while rendering, so frames don't allocate them
+    private static final Color TITLE_SHADOW = new Color(0, 0, 0, 180);
+    private static final Color TITLE_COLOR  = new Color(255, 140, 0);
+    private static final Color BUTTON_FILL  = new Color(40, 40, 40, 220);
+    private static final Color BUTTON_EDGE  = new Color(10, 10, 10);
+    private static final Color BUTTON_INNER = new Color(130, 130, 130);
+    private static final Color BUTTON_LABEL = new Color(235, 235, 235);
+
     private final Core core;
     private final StateMachine states;
     private final FileManager files; // not used yet, but available if needed later
@@ -35,6 +42,10 @@ public class MenuScreen implements Screen, MouseListener {
     private Rectangle highScoreBtn;
     private Rectangle quitBtn;
 
+    // text rasterized once, blitted every frame
+    private TextSprite titleShadow, titleText;
+    private TextSprite startLabel, highScoreLabel, quitLabel;
+
     public MenuScreen(Core core, StateMachine states, FileManager files) { // constructor
         this.core = core;
         this.states = states;
@@ -42,17 +53,18 @@ public class MenuScreen implements Screen, MouseListener {
 
         loadFonts();
         initButtons();
+        initText();
 
-        menuBackground = SpriteLoader.load("resources/backgrounds/front.jpg");
-        stoneTile      = SpriteLoader.load("resources/sprites/button.png");
+        // both pre-scaled, the background to the window and the stone to the button size
+        menuBackground = SpriteCache.get("resources/backgrounds/front.jpg", Core.WIDTH, Core.HEIGHT);
+        stoneTile      = SpriteCache.get("resources/sprites/button.png", startBtn.width, startBtn.height);
     }
 
     private void loadFonts() {
-        try (InputStream in = new FileInputStream("resources/fonts/alagard.ttf")) {
-            Font base = Font.createFont(Font.TRUETYPE_FONT, in);
-            titleFont = base.deriveFont(Font.BOLD, 140f);   // big title
-            buttonFont = base.deriveFont(Font.PLAIN, 26f); // menu buttons
-        } catch (Exception e) {
+        try {
+            titleFont = FontRegistry.get(FontRegistry.ALAGARD, Font.BOLD, 140f);   // big title
+            buttonFont = FontRegistry.get(FontRegistry.ALAGARD, Font.PLAIN, 26f); // menu buttons
+        } catch (RuntimeException e) {
             titleFont = new Font("Arial", Font.BOLD, 80);
             buttonFont = new Font("Arial", Font.PLAIN, 26);
         }
@@ -70,6 +82,23 @@ public class MenuScreen implements Screen, MouseListener {
         quitBtn       = new Rectangle(centerX, firstY + 140, btnWidth, btnHeight);
     }
 
+    private void initText() {
+        titleShadow = new TextSprite(titleFont, TITLE_SHADOW, null);
+        titleShadow.setText("SNAKE");
+        titleText = new TextSprite(titleFont, TITLE_COLOR, null);
+        titleText.setText("SNAKE");
+
+        startLabel = label("Start Game");
+        highScoreLabel = label("High Scores");
+        quitLabel = label("Quit");
+    }
+
+    private TextSprite label(String text) {
+        TextSprite t = new TextSprite(buttonFont, BUTTON_LABEL, null);
+        t.setText(text);
+        return t;
+    }
+
     @Override
 
     public void onEnter() {
@@ -86,6 +115,11 @@ public class MenuScreen implements Screen, MouseListener {
         // no per-frame logic needed for static menu right now
     }
 
+    @Override
+    public boolean isStatic() {
+        return true; // only changes on clicks and transitions, Core re-presents the last frame
+    }
+
     @Override
     public void render(Graphics2D g) {
         g.setRenderingHint(
@@ -95,68 +129,55 @@ public class MenuScreen implements Screen, MouseListener {
 
         // background
         if (menuBackground != null) {
-            g.drawImage(menuBackground, 0, 0, Core.WIDTH, Core.HEIGHT, null);
+            g.drawImage(menuBackground, 0, 0, null);
         } else {
             g.setColor(Color.BLACK);
             g.fillRect(0, 0, Core.WIDTH, Core.HEIGHT);
         }
 
         // title + shadow using BIG titleFont
-        g.setFont(titleFont);
-
         // shadow
-        g.setColor(new Color(0, 0, 0, 180));
-        drawCentered(g, "SNAKE", Core.WIDTH + 3, 190 + 3);
+        drawCentered(g, titleShadow, Core.WIDTH + 3, 190 + 3);
 
         // main text
-        g.setColor(new Color(255, 140, 0));
-        drawCentered(g, "SNAKE", Core.WIDTH, 190);
+        drawCentered(g, titleText, Core.WIDTH, 190);
 
-        // buttons (unchanged, they use buttonFont inside drawButton)
-        drawButton(g, startBtn, "Start Game");
-        drawButton(g, highScoreBtn, "High Scores");
-        drawButton(g, quitBtn, "Quit");
+        // buttons
+        drawButton(g, startBtn, startLabel);
+        drawButton(g, highScoreBtn, highScoreLabel);
+        drawButton(g, quitBtn, quitLabel);
     }
 
-    private void drawButton(Graphics2D g, Rectangle rect, String text) {
+    private void drawButton(Graphics2D g, Rectangle rect, TextSprite label) {
         // --- stone background ---
         if (stoneTile != null) {
-            // draw the button.png scaled to the button rect
-            g.drawImage(stoneTile,
-                    rect.x, rect.y,
-                    rect.x + rect.width, rect.y + rect.height,
-                    0, 0, stoneTile.getWidth(), stoneTile.getHeight(),
-                    null);
+            // button.png comes pre-scaled to the button rect
+            g.drawImage(stoneTile, rect.x, rect.y, null);
         } else {
             // fallback flat fill if image missing
-            g.setColor(new Color(40, 40, 40, 220));
+            g.setColor(BUTTON_FILL);
             g.fill(rect);
         }
 
         // --- chunky pixel-style border ---
-        g.setColor(new Color(10, 10, 10));                 // dark outer edge
+        g.setColor(BUTTON_EDGE);                 // dark outer edge
         g.drawRect(rect.x, rect.y, rect.width, rect.height);
 
-        g.setColor(new Color(130, 130, 130));              // lighter inner edge
+        g.setColor(BUTTON_INNER);              // lighter inner edge
         g.drawRect(rect.x + 2, rect.y + 2,
                 rect.width - 4, rect.height - 4);
 
         // --- label ---
-        g.setFont(buttonFont);
-        g.setColor(new Color(235, 235, 235));              // slightly off-white
-        FontMetrics fm = g.getFontMetrics();
-
-        int tx = rect.x + (rect.width - fm.stringWidth(text)) / 2;
-        int ty = rect.y + (rect.height + fm.getAscent()) / 2 - 4;
+        int tx = rect.x + (rect.width - label.getWidth()) / 2;
+        int ty = rect.y + (rect.height + label.getAscent()) / 2 - 4;
 
-        g.drawString(text, tx, ty);
+        label.draw(g, tx, ty);
     }
 
 
-    private void drawCentered(Graphics2D g, String text, int width, int y) {
-        FontMetrics fm = g.getFontMetrics();
-        int x = (width - fm.stringWidth(text)) / 2;
-        g.drawString(text, x, y);
+    private void drawCentered(Graphics2D g, TextSprite text, int width, int y) {
+        int x = (width - text.getWidth()) / 2;
+        text.draw(g, x, y);
     }
 
     // --- MouseListener implementation ---
@@ -0,0 +1,99 @@
+package screen;
+
+import engine.Core;
+import engine.Counter;
+import engine.FrameTimes;
+import engine.LatencyHistogram;
+import engine.Metrics;
+import engine.SpriteCache;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+/**
+ * Debug overlay (F3) with a graph of the last frame times and the metrics registry in
+ * text: fps, the p50 / p99 of each histogram and the counters.
+ *
+ * The text is re-rasterized twice a second; the graph is a bar per frame, drawn every
+ * frame without allocating.
+ */
+public final class MetricsOverlay {
+
+    private static final long REFRESH_NANOS = 500_000_000L;
+    private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+
+    private static final int GRAPH_H = 60;           // pixels for GRAPH_MS
+    private static final float GRAPH_MS = 50f;
+    private static final float BUDGET_MS = 1000f / 60;
+    private static final Color PANEL = new Color(0, 0, 0, 160);
+    private static final Color OK = new Color(80, 220, 80);
+    private static final Color SLOW = new Color(240, 200, 60);   // over one 60 Hz frame
+    private static final Color JANK = new Color(240, 70, 70);    // over two
+    private static final Color GUIDE = new Color(255, 255, 255, 90);
+
+    private final FrameTimes frames = Metrics.frameTimes();
+    private final TextSprite[] lines = new TextSprite[16];   // fills the panel above the graph
+    private final BufferedImage panel;
+    private final int x, y;
+    private int lineCount;
+    private long lastRefresh;
+
+    public MetricsOverlay() {
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = new TextSprite(FONT, Color.WHITE, Color.BLACK);
+        }
+        panel = SpriteCache.fill(PANEL, frames.capacity() + 8, Core.HEIGHT / 2);
+        x = Core.WIDTH - panel.getWidth() - 8;
+        y = Core.HEIGHT - panel.getHeight() - 8;
+        refresh();
+    }
+
+    public void draw(Graphics2D g) {
+        long now = System.nanoTime();
+        if (now - lastRefresh >= REFRESH_NANOS) {
+            lastRefresh = now;
+            refresh();
+        }
+        g.drawImage(panel, x, y, null);
+
+        // frame-time graph along the bottom, newest on the right
+        int base = y + panel.getHeight() - 4;
+        int left = x + 4 + frames.capacity() - frames.size();
+        for (int i = 0, n = frames.size(); i < n; i++) {
+            float ms = frames.get(i);
+            g.setColor(ms > 2 * BUDGET_MS ? JANK : ms > BUDGET_MS ? SLOW : OK);
+            int h = Math.max(1, (int) (Math.min(ms, GRAPH_MS) * GRAPH_H / GRAPH_MS));
+            g.fillRect(left + i, base - h, 1, h);
+        }
+        g.setColor(GUIDE);
+        for (int k = 1; k <= 2; k++) {
+            g.fillRect(x + 4, base - (int) (k * BUDGET_MS * GRAPH_H / GRAPH_MS), frames.capacity(), 1);
+        }
+
+        int ty = y + 4;
+        for (int i = 0; i < lineCount; i++) {
+            lines[i].draw(g, x + 4, ty + lines[i].getAscent());
+            ty += lines[i].getHeight();
+        }
+    }
+
+    private void refresh() {
+        int n = 0;
+        lines[n++].setText(String.format("fps %.1f", frames.getFps()));
+        for (LatencyHistogram h : Metrics.getHistograms()) {
+            if (n == lines.length || h.getCount() == 0) continue;
+            lines[n++].setText(String.format("%-11.11s p50 %5.1f p99 %5.1f ms", h.getName(),
+                    h.getPercentileMicros(0.50) / 1000.0, h.getPercentileMicros(0.99) / 1000.0));
+        }
+        List<Counter> counters = Metrics.getCounters();
+        for (int i = 0; i < counters.size() && n < lines.length; i += 2) {
+            Counter a = counters.get(i);
+            Counter b = i + 1 < counters.size() ? counters.get(i + 1) : null;
+            lines[n++].setText(a.getName() + " " + a.get() + (b != null ? "  " + b.getName() + " " + b.get() : ""));
+        }
+        lineCount = n;
+    }
+}
@@ -8,4 +8,12 @@ public interface Screen {
     void onExit();
     void update(double dt);
     void render(Graphics2D g);
+
+    // alpha = how far (0..1) real time has got from the last fixed-step update towards the
+    // next one; screens that draw motion between updates override this one
+    default void render(Graphics2D g, double alpha) { render(g); }
+
+    // true if the screen only changes on input, transitions or Core.markDirty() - Core then
+    // renders it once and keeps presenting that frame instead of calling render every loop
+    default boolean isStatic() { return false; }
 }
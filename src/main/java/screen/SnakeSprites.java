@@ -0,0 +1,158 @@
+package screen;
+
+import engine.SpriteCache;
+import entity.Cells;
+import entity.Snake;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Snake and food sprites, and how each segment picks its sprite.
+ * All drawing is in board pixels (cell x at x * unit); the sprites come pre-scaled to unit.
+ */
+final class SnakeSprites {
+
+    private final int unit;
+
+    private final BufferedImage headUp;
+    private final BufferedImage headDown;
+    private final BufferedImage headLeft;
+    private final BufferedImage headRight;
+    private final BufferedImage bodyH;    // horizontal neck
+    private final BufferedImage bodyV;    // vertical neck
+    private final BufferedImage foodSprite;
+
+    SnakeSprites(int unit) {
+        this.unit = unit;
+
+        headUp    = SpriteCache.get("resources/sprites/upH.png", unit);
+        headDown  = SpriteCache.get("resources/sprites/downH.png", unit);
+        headLeft  = SpriteCache.get("resources/sprites/leftH.png", unit);
+        headRight = SpriteCache.get("resources/sprites/rightH.png", unit);
+
+        bodyH     = SpriteCache.get("resources/sprites/bodyH.png", unit);
+        bodyV     = SpriteCache.get("resources/sprites/bodyV.png", unit);
+
+        foodSprite = SpriteCache.get("resources/sprites/eye.png", unit);
+    }
+
+    void drawFood(Graphics2D g, int x, int y) {
+        g.drawImage(foodSprite, x * unit, y * unit, null);
+    }
+
+    void drawHead(Graphics2D g, Snake.Direction dir, int x, int y) {
+        g.drawImage(getHeadSprite(dir), x * unit, y * unit, null);
+    }
+
+    // dx = segment x minus the x of the segment in front of it
+    void drawBody(Graphics2D g, int dx, int x, int y) {
+        g.drawImage(getBodySpriteForSegment(dx), x * unit, y * unit, null);
+    }
+
+    /** Food plus the whole snake, skipping anything the camera can't see. */
+    void drawAll(Graphics2D g, Camera camera, GameSnapshot frame) {
+        drawAll(g, camera.getX(), camera.getY(), camera.getViewCols(), camera.getViewRows(), frame);
+    }
+
+    /** Food plus the whole snake, skipping anything outside the w x h tiles at (x0, y0). */
+    void drawAll(Graphics2D g, int x0, int y0, int w, int h, GameSnapshot frame) {
+        // food
+        int fx = frame.getFoodX();
+        int fy = frame.getFoodY();
+        if (inside(fx, fy, x0, y0, w, h)) {
+            drawFood(g, fx, fy);
+        }
+
+        // snake as ghost + neck (index-based so no Segment objects are created per frame)
+        int headX = frame.getHeadX();
+        int headY = frame.getHeadY();
+
+        // draw head
+        drawHead(g, frame.getDirection(), headX, headY);
+
+        // draw body segments (neck), skipping the ones off screen
+        int prevX = headX;
+        for (int i = 1, n = frame.length(); i < n; i++) {
+            long curr = frame.cellAt(i);
+            int cx = Cells.x(curr), cy = Cells.y(curr);
+            if (inside(cx, cy, x0, y0, w, h)) {
+                drawBody(g, cx - prevX, cx, cy);
+            }
+            prevX = cx;
+        }
+    }
+
+    /**
+     * Food plus the snake as it looks {@code progress} (0..1) of the way from its previous
+     * move to its current one: head sliding out of the neck, tail sliding off the cell it
+     * left. Jumps that aren't one cell (wrap-around, reversal) are drawn without sliding.
+     */
+    void drawInterpolated(Graphics2D g, int x0, int y0, int w, int h, GameSnapshot frame, double progress) {
+        int fx = frame.getFoodX();
+        int fy = frame.getFoodY();
+        if (inside(fx, fy, x0, y0, w, h)) {
+            drawFood(g, fx, fy);
+        }
+
+        // the body as it is now, minus the head
+        int n = frame.length();
+        int prevX = frame.getHeadX();
+        for (int i = 1; i < n; i++) {
+            long curr = frame.cellAt(i);
+            int cx = Cells.x(curr), cy = Cells.y(curr);
+            if (inside(cx, cy, x0, y0, w, h)) {
+                drawBody(g, cx - prevX, cx, cy);
+            }
+            prevX = cx;
+        }
+
+        // tail piece still covering the cell it is leaving (once there it is just the tail)
+        long tail = frame.cellAt(n - 1);
+        long vacated = frame.getVacatedCell();
+        if (progress < 1 && adjacent(vacated, tail)) {
+            int dx = Cells.x(vacated) - Cells.x(tail);
+            g.drawImage(getBodySpriteForSegment(dx),
+                    slide(Cells.x(vacated), Cells.x(tail), progress), slide(Cells.y(vacated), Cells.y(tail), progress), null);
+        }
+
+        // head on top, on its way from the neck
+        long head = frame.cellAt(0);
+        long from = n > 1 && adjacent(frame.cellAt(1), head) ? frame.cellAt(1) : head;
+        g.drawImage(getHeadSprite(frame.getDirection()),
+                slide(Cells.x(from), Cells.x(head), progress), slide(Cells.y(from), Cells.y(head), progress), null);
+    }
+
+    // pixel position progress of the way from cell a to cell b, whole pixels to stay crisp
+    private int slide(int a, int b, double progress) {
+        return a * unit + (int) Math.round((b - a) * unit * progress);
+    }
+
+    private static boolean adjacent(long a, long b) {
+        return Math.abs(Cells.x(a) - Cells.x(b)) + Math.abs(Cells.y(a) - Cells.y(b)) == 1;
+    }
+
+    private static boolean inside(int cx, int cy, int x0, int y0, int w, int h) {
+        return cx >= x0 && cx < x0 + w && cy >= y0 && cy < y0 + h;
+    }
+
+    private BufferedImage getHeadSprite(Snake.Direction dir) {
+        switch (dir) {
+            case UP:    return headUp;
+            case DOWN:  return headDown;
+            case LEFT:  return headLeft;
+            case RIGHT:
+            default:    return headRight;
+        }
+    }
+
+    private BufferedImage getBodySpriteForSegment(int dx) {
+        if (dx != 0) {
+            // moved left/right
+            return bodyH;
+        } else {
+            // moved up/down
+            return bodyV;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package screen;
+
+import engine.SpriteCache;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * A line of text rasterized once into an image and then blitted, optionally with a 1px
+ * outline or an offset drop shadow. The image is only redrawn when the text changes, so
+ * text that stays the same across frames (HUD counters, banners, labels) costs one
+ * drawImage instead of a text layout per pass.
+ */
+final class TextSprite {
+
+    private final Font font;
+    private final Color fill;
+    private final Color outline;        // null for no outline
+    private final Color shadow;         // null for no shadow
+    private final int shadowDx, shadowDy;
+    private final int pad;              // room for the outline / shadow on every side
+
+    private String text;
+    private BufferedImage image;
+    private int ascent;
+    private int lineHeight;
+
+    TextSprite(Font font, Color fill, Color outline) {
+        this(font, fill, outline, null, 0, 0);
+    }
+
+    /** Text with a copy in {@code shadow} drawn underneath, offset by (dx, dy). */
+    TextSprite(Font font, Color fill, Color shadow, int dx, int dy) {
+        this(font, fill, null, shadow, dx, dy);
+    }
+
+    private TextSprite(Font font, Color fill, Color outline, Color shadow, int dx, int dy) {
+        this.font = font;
+        this.fill = fill;
+        this.outline = outline;
+        this.shadow = shadow;
+        this.shadowDx = dx;
+        this.shadowDy = dy;
+        this.pad = Math.max(outline != null ? 1 : 0, Math.max(Math.abs(dx), Math.abs(dy)));
+    }
+
+    /** Changes the text; re-rasterizes only if it differs from what is shown. */
+    void setText(String newText) {
+        if (newText.equals(text)) return;
+        text = newText;
+
+        // measure on a scratch graphics so the image can be sized exactly
+        Graphics2D probe = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+        FontMetrics fm = probe.getFontMetrics(font);
+        probe.dispose();
+        ascent = fm.getAscent();
+        lineHeight = fm.getHeight();
+        int w = Math.max(1, fm.stringWidth(text)) + pad * 2;
+        int h = fm.getAscent() + fm.getDescent() + pad * 2;
+
+        image = SpriteCache.createCompatible(w, h, Transparency.TRANSLUCENT);
+        Graphics2D g = image.createGraphics();
+        g.setFont(font);
+        int x = pad, y = pad + ascent;
+
+        // outline so it pops on any background
+        if (outline != null) {
+            g.setColor(outline);
+            g.drawString(text, x - 1, y);
+            g.drawString(text, x + 1, y);
+            g.drawString(text, x,     y - 1);
+            g.drawString(text, x,     y + 1);
+        }
+
+        if (shadow != null) {
+            g.setColor(shadow);
+            g.drawString(text, x + shadowDx, y + shadowDy);
+        }
+
+        g.setColor(fill);
+        g.drawString(text, x, y);
+        g.dispose();
+    }
+
+    /** Draws the text with its baseline at y, like Graphics.drawString. */
+    void draw(Graphics2D g, int x, int baselineY) {
+        if (image == null) return;
+        g.drawImage(image, x - pad, baselineY - ascent - pad, null);
+    }
+
+    // metrics of the current text, as FontMetrics would report them
+    int getWidth() { return image == null ? 0 : image.getWidth() - pad * 2; }
+    int getAscent() { return ascent; }
+    int getHeight() { return lineHeight; }
+}
@@ -0,0 +1,159 @@
+package screen;
+
+import entity.Cells;
+import entity.Snake;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+/**
+ * The whole game board (map, food and snake) kept in one persistent offscreen image and
+ * patched as the game goes: a normal move only touches the cells that changed (old tail,
+ * neck, head, old and new food), each restored from the {@link MapLayer} and redrawn.
+ * The frame then costs one blit instead of a draw per segment, however long the snake.
+ *
+ * Falls back to a full repaint when it can't tell what changed: first frame, new game,
+ * a reversal, more than one move since the last frame, the map layer was re-rendered
+ * (new map or its window moved with the camera) or an accelerated image lost its contents.
+ */
+final class TrailLayer {
+
+    private final int unit;
+    private final MapLayer map;
+    private final SnakeSprites sprites;
+    private final LayerImage image = new LayerImage();
+
+    // what the image shows, to work out what changed
+    private int drawnGame = -1;
+    private long drawnMoves, drawnReverses;
+    private int drawnMapVersion = -1;
+    private Snake.Direction drawnDir;
+    private long drawnTail;
+    private int drawnLength;
+    private int drawnFoodX, drawnFoodY;
+
+    TrailLayer(int unit, MapLayer map, SnakeSprites sprites) {
+        this.unit = unit;
+        this.map = map;
+        this.sprites = sprites;
+    }
+
+    /** Forgets what was drawn so the next frame repaints everything. */
+    void invalidate() {
+        drawnGame = -1;
+    }
+
+    /**
+     * Brings the image up to date and draws the visible part of the board. {@code g} must
+     * already be translated to board pixels (board cell x is at x * unit); {@code gc} is
+     * the window's configuration, as for {@link MapLayer#draw}.
+     */
+    void draw(Graphics2D g, GraphicsConfiguration gc, Camera camera, GameSnapshot frame, int cols, int rows,
+              BufferedImage backgroundSprite, BufferedImage wallSprite) {
+        do {
+            map.prepare(gc, camera, frame.getWalls(), cols, rows, backgroundSprite, wallSprite);
+            boolean lost = image.validate(gc, map.getWindowCols() * unit, map.getWindowRows() * unit);
+            update(lost, frame);
+            g.drawImage(image.get(), map.getWindowX() * unit, map.getWindowY() * unit, null);
+        } while (image.contentsLost() || map.contentsLost());
+    }
+
+    private void update(boolean lost, GameSnapshot snake) {
+        long moves = snake.getMoveCount();
+        boolean full = lost
+                || snake.getGame() != drawnGame
+                || map.getVersion() != drawnMapVersion
+                || snake.getReverseCount() != drawnReverses
+                || moves < drawnMoves || moves > drawnMoves + 1;
+
+        if (full) {
+            repaint(begin(), snake);
+        } else if (moves != drawnMoves || snake.length() != drawnLength
+                || snake.getFoodX() != drawnFoodX || snake.getFoodY() != drawnFoodY
+                || snake.getDirection() != drawnDir) {
+            patch(begin(), snake, moves != drawnMoves, snake.length() != drawnLength);
+        }
+        // most frames nothing changed and no Graphics is created at all
+
+        drawnGame = snake.getGame();
+        drawnMoves = moves;
+        drawnReverses = snake.getReverseCount();
+        drawnMapVersion = map.getVersion();
+        drawnDir = snake.getDirection();
+        drawnTail = snake.cellAt(snake.length() - 1);
+        drawnLength = snake.length();
+        drawnFoodX = snake.getFoodX();
+        drawnFoodY = snake.getFoodY();
+    }
+
+    private Graphics2D begin() {
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        g.translate(-map.getWindowX() * unit, -map.getWindowY() * unit);
+        return g;
+    }
+
+    private void repaint(Graphics2D g, GameSnapshot snake) {
+        int wx = map.getWindowX(), wy = map.getWindowY();
+        int ww = map.getWindowCols(), wh = map.getWindowRows();
+        g.drawImage(map.getImage(), wx * unit, wy * unit, null);
+        sprites.drawAll(g, wx, wy, ww, wh, snake);
+        g.dispose();
+    }
+
+    // redraws only the cells touched since the last frame; order matters where cells coincide
+    private void patch(Graphics2D g, GameSnapshot snake, boolean moved, boolean grew) {
+        if (moved) {
+            // the cell the tail left, unless the snake still covers it: only the new head can
+            // have moved in (tail chasing), or the tail stayed on a grow copy
+            if (snake.cellAt(0) != drawnTail && snake.cellAt(snake.length() - 1) != drawnTail) {
+                map.copyCell(g, Cells.x(drawnTail), Cells.y(drawnTail));
+            }
+        }
+        if (moved || grew) {
+            // growing stacks a copy on the tail cell, so its sprite changes until the next move
+            redrawTail(g, snake);
+        }
+
+        // food that was eaten or moved
+        int fx = snake.getFoodX(), fy = snake.getFoodY();
+        if ((fx != drawnFoodX || fy != drawnFoodY) && drawnFoodX >= 0) {
+            map.copyCell(g, drawnFoodX, drawnFoodY);
+        }
+
+        int hx = snake.getHeadX(), hy = snake.getHeadY();
+        if (moved && snake.length() > 1) {
+            // the old head becomes the neck
+            long neck = snake.cellAt(1);
+            int nx = Cells.x(neck), ny = Cells.y(neck);
+            map.copyCell(g, nx, ny);
+            sprites.drawBody(g, nx - hx, nx, ny);
+        }
+
+        if (fx >= 0) {
+            map.copyCell(g, fx, fy);
+            sprites.drawFood(g, fx, fy);
+        }
+
+        map.copyCell(g, hx, hy);
+        sprites.drawHead(g, snake.getDirection(), hx, hy);
+        g.dispose();
+    }
+
+    // tail cell drawn the way a full repaint draws it: every segment stacked on it, in order
+    private void redrawTail(Graphics2D g, GameSnapshot snake) {
+        int n = snake.length();
+        if (n < 2) return;
+        long tail = snake.cellAt(n - 1);
+        int first = n - 1;
+        while (first > 1 && snake.cellAt(first - 1) == tail) first--;
+
+        int tx = Cells.x(tail), ty = Cells.y(tail);
+        map.copyCell(g, tx, ty);
+        for (int i = first; i < n; i++) {
+            sprites.drawBody(g, tx - snake.xAt(i - 1), tx, ty);
+        }
+    }
+}
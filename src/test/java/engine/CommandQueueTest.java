@@ -0,0 +1,133 @@
+package engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommandQueueTest {
+
+    @Test
+    void keepsOrderAcrossManyLapsOfTheRing() {
+        //a 4-slot ring reused fifty times over, never more than 3 commands in it
+        CommandQueue queue = new CommandQueue(4);
+        long next = 0, expected = 0;
+        for (int lap = 0; lap < 50; lap++) {
+            for (int i = 0; i < 3; i++) assertTrue(queue.offer(next++));
+            for (int i = 0; i < 3; i++) assertEquals(expected++, queue.poll());
+        }
+        assertEquals(CommandQueue.EMPTY, queue.poll());
+    }
+
+    @Test
+    void fullQueueRejectsUntilOneIsTaken() {
+        CommandQueue queue = new CommandQueue(4);
+        for (int i = 0; i < 4; i++) assertTrue(queue.offer(i));
+        assertFalse(queue.offer(4));
+
+        assertEquals(0, queue.poll());
+        assertTrue(queue.offer(4));
+        assertFalse(queue.offer(5));
+        for (int i = 1; i <= 4; i++) assertEquals(i, queue.poll());
+        assertEquals(CommandQueue.EMPTY, queue.poll());
+    }
+
+    @Test
+    void capacityMustBeAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new CommandQueue(6));
+    }
+
+    @Test
+    void producersFillingAFullQueueTogetherAcceptExactlyCapacity() {
+        //four threads offer distinct commands with nobody taking them
+        CommandQueue queue = new CommandQueue(16);
+        int producers = 4;
+        int[] accepted = new int[producers];
+        CountDownLatch go = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int id = p;
+            threads.add(start(() -> {
+                await(go);
+                for (int i = 0; i < 100; i++) {
+                    if (queue.offer(((long) id << 32) | i)) accepted[id]++;
+                }
+            }));
+        }
+        go.countDown();
+        join(threads);
+
+        int total = 0;
+        for (int n : accepted) total += n;
+        assertEquals(16, total);
+
+        Set<Long> taken = new HashSet<>();
+        for (long c; (c = queue.poll()) != CommandQueue.EMPTY; ) taken.add(c);
+        assertEquals(16, taken.size());   // none lost or duplicated
+    }
+
+    @Test
+    void manyProducersOneConsumerDeliversEverythingInEachProducersOrder() {
+        //small ring so producers keep wrapping round it and finding it full
+        CommandQueue queue = new CommandQueue(8);
+        int producers = 4, perProducer = 5_000;
+        CountDownLatch go = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int id = p;
+            threads.add(start(() -> {
+                await(go);
+                for (int i = 0; i < perProducer; i++) {
+                    while (!queue.offer(((long) id << 32) | i)) Thread.yield();
+                }
+            }));
+        }
+        go.countDown();
+
+        int[] nextFrom = new int[producers];
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        for (int received = 0; received < producers * perProducer; ) {
+            long c = queue.poll();
+            if (c == CommandQueue.EMPTY) {
+                assertTrue(System.nanoTime() < deadline, "timed out after " + received + " commands");
+                Thread.yield();
+                continue;
+            }
+            int id = (int) (c >>> 32);
+            assertEquals(nextFrom[id]++, (int) c, "producer " + id);
+            received++;
+        }
+        join(threads);
+        assertEquals(CommandQueue.EMPTY, queue.poll());
+    }
+
+    private static Thread start(Runnable r) {
+        Thread t = new Thread(r);
+        t.start();
+        return t;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void join(List<Thread> threads) {
+        for (Thread t : threads) {
+            try {
+                t.join(10_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            assertFalse(t.isAlive());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package engine;
+
+import entity.Snake;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Canvas;
+import java.awt.event.KeyEvent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InputManagerTest {
+
+    private final Canvas canvas = new Canvas();
+    private final InputManager input = new InputManager(canvas);
+
+    @Test
+    void quickTurnsAreAppliedOnePerMove() {
+        //up then left within one move doubles back over two moves
+        press(KeyEvent.VK_UP);
+        press(KeyEvent.VK_LEFT);
+        input.poll();
+
+        assertEquals(Snake.Direction.UP, input.consumeDirectionChange(Snake.Direction.RIGHT));
+        assertEquals(Snake.Direction.LEFT, input.consumeDirectionChange(Snake.Direction.UP));
+        assertNull(input.consumeDirectionChange(Snake.Direction.LEFT));
+    }
+
+    @Test
+    void turnsBeyondMaxTurnsAreDropped() {
+        //four turns queued in one tick, only the first three are kept
+        press(KeyEvent.VK_UP);
+        press(KeyEvent.VK_LEFT);
+        press(KeyEvent.VK_DOWN);
+        press(KeyEvent.VK_RIGHT);
+        input.poll();
+
+        assertEquals(Snake.Direction.UP, input.consumeDirectionChange(Snake.Direction.RIGHT));
+        assertEquals(Snake.Direction.LEFT, input.consumeDirectionChange(Snake.Direction.UP));
+        assertEquals(Snake.Direction.DOWN, input.consumeDirectionChange(Snake.Direction.LEFT));
+        assertNull(input.consumeDirectionChange(Snake.Direction.DOWN));
+    }
+
+    @Test
+    void duplicateAndOppositeTurnsAreNotQueued() {
+        //up, up again, then down (reversing the queued up): only one turn
+        press(KeyEvent.VK_UP);
+        press(KeyEvent.VK_UP);
+        press(KeyEvent.VK_DOWN);
+        input.poll();
+
+        assertEquals(Snake.Direction.UP, input.consumeDirectionChange(Snake.Direction.RIGHT));
+        assertNull(input.consumeDirectionChange(Snake.Direction.UP));
+    }
+
+    @Test
+    void turnsThatReverseOrRepeatTheCurrentDirectionAreSkipped() {
+        //heading right: left and right are skipped, the down behind them is used
+        press(KeyEvent.VK_LEFT);
+        input.poll();
+        assertNull(input.consumeDirectionChange(Snake.Direction.RIGHT));
+
+        press(KeyEvent.VK_RIGHT);
+        press(KeyEvent.VK_DOWN);
+        input.poll();
+        assertEquals(Snake.Direction.DOWN, input.consumeDirectionChange(Snake.Direction.RIGHT));
+        assertNull(input.consumeDirectionChange(Snake.Direction.DOWN));
+    }
+
+    @Test
+    void heldKeyRepeatIsIgnored() {
+        input.keyPressed(key(KeyEvent.KEY_PRESSED, KeyEvent.VK_P));
+        input.keyPressed(key(KeyEvent.KEY_PRESSED, KeyEvent.VK_P));   // auto-repeat
+        input.poll();
+        assertTrue(input.consumePauseToggled());
+        assertFalse(input.consumePauseToggled());
+    }
+
+    @Test
+    void resetForgetsKeysPressedBeforeIt() throws InterruptedException {
+        press(KeyEvent.VK_UP);
+        press(KeyEvent.VK_R);
+        Thread.sleep(1);   // strictly after the presses on any clock
+        input.reset();
+        input.poll();
+
+        assertNull(input.consumeDirectionChange(Snake.Direction.RIGHT));
+        assertFalse(input.consumeRestartRequested());
+    }
+
+    private void press(int code) {
+        input.keyPressed(key(KeyEvent.KEY_PRESSED, code));
+        input.keyReleased(key(KeyEvent.KEY_RELEASED, code));
+    }
+
+    private KeyEvent key(int id, int code) {
+        return new KeyEvent(canvas, id, System.currentTimeMillis(), 0, code, KeyEvent.CHAR_UNDEFINED);
+    }
+}
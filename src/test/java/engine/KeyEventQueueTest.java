@@ -0,0 +1,74 @@
+package engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyEventQueueTest {
+
+    @Test
+    void keepsOrderAndTimesAcrossManyLapsOfTheRing() {
+        //a 4-slot ring reused fifty times over, never more than 3 keys in it
+        KeyEventQueue queue = new KeyEventQueue(4);
+        int next = 0, expected = 0;
+        for (int lap = 0; lap < 50; lap++) {
+            for (int i = 0; i < 3; i++, next++) assertTrue(queue.offer(next, 1000L + next));
+            for (int i = 0; i < 3; i++, expected++) {
+                assertTrue(queue.poll());
+                assertEquals(expected, queue.code());
+                assertEquals(1000L + expected, queue.nanos());
+            }
+        }
+        assertFalse(queue.poll());
+    }
+
+    @Test
+    void fullQueueDropsKeysUntilOneIsTaken() {
+        KeyEventQueue queue = new KeyEventQueue(4);
+        for (int i = 0; i < 4; i++) assertTrue(queue.offer(i, i));
+        assertFalse(queue.offer(4, 4));
+
+        assertTrue(queue.poll());
+        assertEquals(0, queue.code());
+        assertTrue(queue.offer(5, 5));
+        assertFalse(queue.offer(6, 6));
+
+        int[] rest = {1, 2, 3, 5};   // 4 was dropped
+        for (int code : rest) {
+            assertTrue(queue.poll());
+            assertEquals(code, queue.code());
+        }
+        assertFalse(queue.poll());
+    }
+
+    @Test
+    void capacityMustBeAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new KeyEventQueue(3));
+    }
+
+    @Test
+    void oneProducerThreadHandsOverEveryKeyInOrder() throws InterruptedException {
+        KeyEventQueue queue = new KeyEventQueue(8);
+        int keys = 20_000;
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < keys; i++) {
+                while (!queue.offer(i, i)) Thread.yield();
+            }
+        });
+        producer.start();
+
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        for (int expected = 0; expected < keys; ) {
+            if (!queue.poll()) {
+                assertTrue(System.nanoTime() < deadline, "timed out after " + expected + " keys");
+                Thread.yield();
+                continue;
+            }
+            assertEquals(expected, queue.code());
+            assertEquals(expected, queue.nanos());
+            expected++;
+        }
+        producer.join(10_000);
+        assertFalse(queue.poll());
+    }
+}
@@ -0,0 +1,125 @@
+package engine;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.sound.sampled.AudioFormat;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SoftwareMixerTest {
+
+    private static final int BUFFER_FRAMES = 256;
+    private static final int BUFFER_BYTES = BUFFER_FRAMES * SoftwareMixer.FORMAT.getFrameSize();
+    private static final int HEADER = 44;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recordsPlayedSoundsSummedIntoTheWav() throws Exception {
+        //the same 100-frame mono sound played twice at once, then silence
+        Path wav = dir.resolve("mix.wav");
+        SoftwareMixer mixer = new SoftwareMixer(new WavFileSink(wav.toString()), BUFFER_FRAMES);
+        int id = mixer.add(monoSound(100, 1000), 0f);
+        mixer.play(id);
+        mixer.play(id);   // both taken before the first buffer is mixed
+        runFor(mixer, wav, 3);
+
+        ByteBuffer data = dataOf(wav);
+        for (int frame = 0; frame < BUFFER_FRAMES; frame++) {
+            int expected = frame < 100 ? 2000 : 0;
+            assertEquals(expected, data.getShort(), "left, frame " + frame);
+            assertEquals(expected, data.getShort(), "right, frame " + frame);
+        }
+    }
+
+    @Test
+    void clipsTheSumTo16Bits() throws Exception {
+        Path wav = dir.resolve("clip.wav");
+        SoftwareMixer mixer = new SoftwareMixer(new WavFileSink(wav.toString()), BUFFER_FRAMES);
+        int loud = mixer.add(monoSound(BUFFER_FRAMES, 30000), 0f);
+        mixer.play(loud);
+        mixer.play(loud);
+        runFor(mixer, wav, 1);
+
+        ByteBuffer data = dataOf(wav);
+        assertEquals(Short.MAX_VALUE, data.getShort(0));
+        assertEquals(Short.MAX_VALUE, data.getShort(BUFFER_BYTES - 2));
+    }
+
+    @Test
+    void wavHeaderHoldsTheSizesWrittenOnClose() throws Exception {
+        Path wav = dir.resolve("header.wav");
+        SoftwareMixer mixer = new SoftwareMixer(new WavFileSink(wav.toString()), BUFFER_FRAMES);
+        runFor(mixer, wav, 2);
+
+        byte[] bytes = Files.readAllBytes(wav);
+        ByteBuffer header = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        int dataBytes = bytes.length - HEADER;
+        assertTrue(dataBytes >= 2 * BUFFER_BYTES);
+        assertEquals(0, dataBytes % BUFFER_BYTES, "whole buffers only");
+        assertEquals("RIFF", new String(bytes, 0, 4, "US-ASCII"));
+        assertEquals(36 + dataBytes, header.getInt(4));
+        assertEquals("WAVE", new String(bytes, 8, 4, "US-ASCII"));
+        assertEquals(2, header.getShort(22));                   // channels
+        assertEquals(44100, header.getInt(24));                 // sample rate
+        assertEquals(44100 * 4, header.getInt(28));             // bytes per second
+        assertEquals(16, header.getShort(34));                  // bits per sample
+        assertEquals("data", new String(bytes, 36, 4, "US-ASCII"));
+        assertEquals(dataBytes, header.getInt(40));
+    }
+
+    @Test
+    void nullSinkMixerTakesCommandsAndStopsOnClose() throws Exception {
+        SoftwareMixer mixer = new SoftwareMixer(new NullSink(), BUFFER_FRAMES);
+        int id = mixer.add(monoSound(100, 1000), 0f);
+        assertEquals(-1, mixer.add(null, 0f));
+        mixer.start();
+        for (int i = 0; i < 200; i++) mixer.play(id);   // more than the queue holds: extras dropped
+        mixer.play(-1);                                  // ignored
+        Thread.sleep(50);
+        mixer.close();
+
+        Thread audio = findThread("AudioMixer");
+        assertTrue(audio == null || !audio.isAlive());
+    }
+
+    // starts the mixer, lets it write at least `buffers` buffers, then closes it
+    private static void runFor(SoftwareMixer mixer, Path wav, int buffers) throws Exception {
+        mixer.start();
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (Files.size(wav) < HEADER + (long) buffers * BUFFER_BYTES) {
+            assertTrue(System.nanoTime() < deadline, "mixer wrote nothing");
+            Thread.sleep(5);
+        }
+        mixer.close();
+    }
+
+    private static ByteBuffer dataOf(Path wav) throws Exception {
+        byte[] bytes = Files.readAllBytes(wav);
+        return ByteBuffer.wrap(bytes, HEADER, bytes.length - HEADER).slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    // `frames` frames of one constant sample, mono at the output rate so no resampling
+    private static PcmSound monoSound(int frames, int sample) {
+        AudioFormat format = new AudioFormat(44100f, 16, 1, true, false);
+        byte[] data = new byte[frames * 2];
+        for (int i = 0; i < data.length; i += 2) {
+            data[i] = (byte) sample;
+            data[i + 1] = (byte) (sample >> 8);
+        }
+        return new PcmSound(format, data);
+    }
+
+    private static Thread findThread(String name) {
+        for (Thread t : Thread.getAllStackTraces().keySet()) {
+            if (t.getName().equals(name)) return t;
+        }
+        return null;
+    }
+}
@@ -73,4 +73,46 @@ class CollisionHandlerTest {
         assertEquals(CollisionHandler.Result.ATE_FOOD, result);
 
     }
+
+    @Test
+    void check_hitsSelf_afterTurningIntoBody() {
+        //grow, then loop round so the head runs into its own body
+        Snake snake = new Snake(10, 10);
+        CollisionHandler handler = new CollisionHandler();
+        snake.grow();
+        snake.grow();
+
+        Snake.Direction[] path = {
+                Snake.Direction.RIGHT, Snake.Direction.DOWN, Snake.Direction.LEFT, Snake.Direction.UP
+        };
+        CollisionHandler.Result result = CollisionHandler.Result.NONE;
+        for (Snake.Direction d : path) {
+            snake.setDirection(d);
+            snake.move();
+            result = handler.check(snake, null, null, false, 10, 10);
+        }
+
+        assertEquals(CollisionHandler.Result.HIT_SELF, result);
+    }
+
+    @Test
+    void check_movingIntoVacatedTail_isNotSelfHit() {
+        //a 4-long snake chasing its own tail round a 2x2 square never collides
+        Snake snake = new Snake(10, 10);
+        CollisionHandler handler = new CollisionHandler();
+        snake.grow();
+        snake.move(); // (2,3)
+        snake.setDirection(Snake.Direction.UP);
+        snake.move(); // (2,2), the four segments now fill a 2x2 square
+
+        Snake.Direction[] loop = {
+                Snake.Direction.LEFT, Snake.Direction.DOWN, Snake.Direction.RIGHT, Snake.Direction.UP
+        };
+        for (int i = 0; i < 8; i++) {
+            snake.setDirection(loop[i % 4]);
+            snake.move();
+            assertEquals(CollisionHandler.Result.NONE,
+                    handler.check(snake, null, null, false, 10, 10), "step " + i);
+        }
+    }
 }
@@ -51,4 +51,32 @@ class FoodTest {
         assertTrue(fx>=0 && fy<r);
         assertFalse(snake.occupies(fx, fy));
     }
-}
\ No newline at end of file
+
+    @Test
+    void respawn_fillsLastFreeCellThenReportsFull() {
+        /*walled 3x4 board whose only open cells are under the snake*/
+
+        Snake snake = new Snake(3, 4);
+        Food food = new Food();
+        boolean[][] walls = new boolean[3][4];
+        walls[0][0] = true;
+        walls[1][0] = true;
+        walls[2][0] = true;
+        walls[0][1] = true;
+        walls[2][1] = true;
+        walls[0][2] = true;
+        walls[2][2] = true;
+        walls[0][3] = true;
+        walls[2][3] = true;
+
+        // snake covers (1,1),(1,2),(1,3) - every non-wall cell
+        assertFalse(food.respawn(walls, snake, 3, 4));
+        assertEquals(-1, food.getX());
+
+        // moving pulls the tail off (1,1) (the head goes into the wall)
+        snake.move();
+        assertTrue(food.respawn(walls, snake, 3, 4));
+        assertEquals(1, food.getX());
+        assertEquals(1, food.getY());
+    }
+}
@@ -0,0 +1,73 @@
+package entity_test;
+
+import entity.CollisionHandler;
+import entity.GameSimulation;
+import entity.Snake;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameSimulationTest {
+
+    @Test
+    void step_runsIntoBorderWall() {
+        //default map has border walls, snake heads right from (1,3)
+        GameSimulation sim = new GameSimulation(18, 13, 1L);
+
+        CollisionHandler.Result result = CollisionHandler.Result.NONE;
+        int steps = 0;
+        while (!sim.isOver()) {
+            result = sim.step(null);
+            steps++;
+        }
+
+        // may eat on the way, but must end on the right-hand wall at x = 17
+        assertEquals(CollisionHandler.Result.HIT_WALL, result);
+        assertEquals(16, steps);
+        assertEquals(17, sim.getSnake().getHead().getX());
+
+        // further steps are ignored once the game is over
+        assertEquals(CollisionHandler.Result.HIT_WALL, sim.step(Snake.Direction.UP));
+        assertEquals(17, sim.getSnake().getHead().getX());
+    }
+
+    @Test
+    void sameSeedReplaysSameGame() {
+        //two simulations fed the same seed and inputs must stay identical
+        GameSimulation a = new GameSimulation(40, 30, 42L);
+        GameSimulation b = new GameSimulation(40, 30, 42L);
+
+        Snake.Direction[] turns = {
+                Snake.Direction.RIGHT, Snake.Direction.DOWN, Snake.Direction.LEFT, Snake.Direction.UP
+        };
+        for (int i = 0; i < 2000 && !a.isOver(); i++) {
+            Snake.Direction d = (i % 7 == 0) ? turns[(i / 7) % 4] : null;
+            assertEquals(a.step(d), b.step(d), "result at step " + i);
+            assertEquals(a.getFood().getX(), b.getFood().getX());
+            assertEquals(a.getFood().getY(), b.getFood().getY());
+            assertEquals(a.getSnake().getHead().getX(), b.getSnake().getHead().getX());
+            assertEquals(a.getSnake().getHead().getY(), b.getSnake().getHead().getY());
+        }
+        assertEquals(a.getFoodsEaten(), b.getFoodsEaten());
+    }
+
+    @Test
+    void moveIntervalSpeedsUpEveryFiveFoods() {
+        //seeded game steered greedily at the food; two levels after ten foods
+        GameSimulation sim = new GameSimulation(60, 60, 7L);
+        assertEquals(GameSimulation.BASE_MOVE_INTERVAL, sim.getMoveInterval());
+
+        // eat by always steering the head towards the food
+        while (!sim.isOver() && sim.getFoodsEaten() < 10) {
+            int hx = sim.getSnake().getHead().getX(), hy = sim.getSnake().getHead().getY();
+            int fx = sim.getFood().getX(), fy = sim.getFood().getY();
+            Snake.Direction d = fx > hx ? Snake.Direction.RIGHT : fx < hx ? Snake.Direction.LEFT
+                    : fy > hy ? Snake.Direction.DOWN : Snake.Direction.UP;
+            sim.step(d);
+        }
+
+        assertEquals(10, sim.getFoodsEaten());
+        assertEquals(GameSimulation.BASE_MOVE_INTERVAL - 2 * GameSimulation.LEVEL_SPEEDUP,
+                sim.getMoveInterval(), 1e-9);
+    }
+}
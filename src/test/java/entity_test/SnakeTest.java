@@ -1,15 +1,19 @@
 package entity_test;
 
+import entity.Cells;
+import entity.CollisionHandler;
 import entity.Segment;
 import entity.Snake;
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class SnakeTest {
 
@@ -186,6 +190,193 @@ class SnakeTest {
         assertEquals(before, after);
     }
 
+    @Test
+    void longSnakeMovesGrowsAndReversesInOrder() {
+        //grow well past the initial buffer size, then walk and flip
+        Snake snake = new Snake();
+        for (int i = 0; i < 40; i++) {
+            snake.move();
+            snake.grow();
+        }
+        snake.move();
+
+        // head walked right from (1,3) and the body trails back to the start column
+        assertEquals(42, snake.getHead().getX());
+        assertEquals(3, snake.getHead().getY());
+        List<Segment> body = snake.getBody();
+        assertEquals(42, body.size());
+        for (int i = 0; i < body.size() - 1; i++) {
+            assertEquals(41 - i, body.get(i).getX(), "X mismatch at index " + i);
+            assertEquals(3, body.get(i).getY(), "Y mismatch at index " + i);
+        }
+        Segment tail = body.get(body.size() - 1);
+        assertEquals(1, tail.getX());
+        assertEquals(2, tail.getY());
+
+        // after reverse the old tail leads, heading away from the body
+        snake.reverse();
+        assertEquals(Snake.Direction.UP, snake.getDirection());
+        snake.move();
+        assertEquals(1, snake.getHead().getX());
+        assertEquals(1, snake.getHead().getY());
+        assertEquals(42, snake.getBody().size());
+        assertFalse(snake.occupies(42, 3));
+        assertTrue(snake.occupies(41, 3));
+    }
+
+    @Test
+    void indexAccessMatchesSegmentViews() {
+        Snake snake = new Snake();
+        snake.grow();
+        snake.move();
+        snake.reverse();
+
+        List<Segment> body = snake.getBody();
+        assertEquals(body.size() + 1, snake.length());
+        assertEquals(snake.getHead().getX(), snake.getHeadX());
+        assertEquals(snake.getHead().getY(), snake.getHeadY());
+        for (int i = 0; i < body.size(); i++) {
+            assertEquals(body.get(i).getX(), snake.xAt(i + 1));
+            assertEquals(body.get(i).getY(), snake.yAt(i + 1));
+        }
+
+        int[] visited = new int[1];
+        snake.forEachSegment((index, x, y) -> {
+            assertEquals(snake.xAt(index), x);
+            assertEquals(snake.yAt(index), y);
+            visited[0]++;
+        });
+        assertEquals(snake.length(), visited[0]);
+    }
+
+    @Test
+    void copyCellsMatchesIndexAccess() {
+        //wrap the ring buffer round its end, then check both directions
+        Snake snake = new Snake();
+        for (int i = 0; i < 20; i++) {
+            snake.move();
+            if (i % 3 == 0) snake.grow();
+        }
+        long[] cells = new long[snake.length()];
+        snake.copyCells(cells);
+        for (int i = 0; i < snake.length(); i++) {
+            assertEquals(snake.cellAt(i), cells[i], "mismatch at index " + i);
+        }
+
+        snake.reverse();
+        snake.move();
+        snake.copyCells(cells);
+        for (int i = 0; i < snake.length(); i++) {
+            assertEquals(snake.cellAt(i), cells[i], "mismatch after reverse at index " + i);
+        }
+    }
 
+    @Test
+    void vacatedCellIsWhereTheTailWas() {
+        Snake snake = new Snake();
+        snake.move();
+        // tail started at (1,1) and moved up to (1,2)
+        assertEquals(1, Cells.x(snake.getVacatedCell()));
+        assertEquals(1, Cells.y(snake.getVacatedCell()));
 
+        // growing leaves a copy on the tail, so the next move doesn't vacate anything
+        snake.grow();
+        snake.move();
+        assertEquals(snake.cellAt(snake.length() - 1), snake.getVacatedCell());
+    }
+
+    @Test
+    void setHeadMovesOnlyTheHeadCell() {
+        Snake snake = new Snake(10, 10);
+        snake.setHead(9, 3);
+        assertEquals(9, snake.getHeadX());
+        assertFalse(snake.occupies(1, 3));   // old head cell freed
+        assertTrue(snake.occupies(9, 3));
+        assertTrue(snake.occupies(1, 2));
+        assertFalse(snake.isHeadOnBody());
+
+        // onto the body, then off it again: the body cell stays taken
+        snake.setHead(1, 2);
+        assertTrue(snake.isHeadOnBody());
+        snake.setHead(5, 5);
+        assertFalse(snake.isHeadOnBody());
+        assertTrue(snake.occupies(1, 2));
+        assertFalse(snake.occupies(9, 3));
+    }
+
+    @Test
+    void wrapMovesTheHeadRoundTheBoard() {
+        Snake snake = new Snake(10, 10);
+        snake.setHead(9, 3);
+        snake.move();   // heading right, off the edge at x = 10
+        CollisionHandler.Result r = new CollisionHandler().check(snake, null, null, true, 10, 10);
+
+        assertEquals(CollisionHandler.Result.NONE, r);
+        assertEquals(0, snake.getHeadX());
+        assertEquals(3, snake.getHeadY());
+        assertTrue(snake.occupies(0, 3));
+        assertFalse(snake.isHeadOnBody());
+    }
+
+    @Test
+    void wrapOntoTheBodyIsAHeadOnBody() {
+        //round a loop on a 4-wide board, then off the right edge onto the body at (0, 4)
+        Snake snake = new Snake(4, 10);
+        CollisionHandler handler = new CollisionHandler();
+        for (int i = 0; i < 6; i++) snake.grow();
+
+        Snake.Direction[] path = {
+                Snake.Direction.DOWN, Snake.Direction.LEFT, Snake.Direction.DOWN, Snake.Direction.RIGHT,
+                Snake.Direction.RIGHT, Snake.Direction.RIGHT, Snake.Direction.UP
+        };
+        for (Snake.Direction d : path) {
+            snake.setDirection(d);
+            snake.move();
+            assertEquals(CollisionHandler.Result.NONE, handler.check(snake, null, null, true, 4, 10));
+            assertFalse(snake.isHeadOnBody());
+        }
+
+        snake.setDirection(Snake.Direction.RIGHT);
+        snake.move();   // (4, 4), wraps to (0, 4)
+        assertFalse(snake.isHeadOnBody(), "off the board nothing is under the head yet");
+        assertEquals(CollisionHandler.Result.HIT_SELF, handler.check(snake, null, null, true, 4, 10));
+        assertEquals(0, snake.getHeadX());
+        assertEquals(4, snake.getHeadY());
+        assertTrue(snake.isHeadOnBody());
+    }
+
+    @Test
+    void steadyStateTickAllocatesNothing() {
+        //moving, checking and walking the body must not create objects
+        java.lang.management.ThreadMXBean mx = ManagementFactory.getThreadMXBean();
+        assumeTrue(mx instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) mx;
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        // 4 segments chasing each other round a 2x2 square
+        Snake snake = new Snake(10, 10);
+        CollisionHandler handler = new CollisionHandler();
+        snake.grow();
+        snake.move();
+        snake.setDirection(Snake.Direction.UP);
+        snake.move();
+        Snake.Direction[] loop = {
+                Snake.Direction.LEFT, Snake.Direction.DOWN, Snake.Direction.RIGHT, Snake.Direction.UP
+        };
+        long[] sum = new long[1];
+        Snake.SegmentVisitor visitor = (index, x, y) -> sum[0] += x + y;
+
+        long threadId = Thread.currentThread().getId();
+        long before = 0;
+        for (int i = 0; i < 200_000; i++) {
+            if (i == 100_000) before = threads.getThreadAllocatedBytes(threadId); // after warm-up
+            snake.setDirection(loop[i % 4]);
+            snake.move();
+            handler.check(snake, null, null, false, 10, 10);
+            snake.forEachSegment(visitor);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue(allocated < 1024, "allocated " + allocated + " bytes in 100k ticks");
+    }
 }